@@ -19,27 +19,45 @@ import com.br.gravitationalbattle.commands.SetLobbyCommand;
 import com.br.gravitationalbattle.commands.SpectateCommand;
 import com.br.gravitationalbattle.commands.StatsCommand;
 import com.br.gravitationalbattle.game.Game;
+import com.br.gravitationalbattle.listeners.ArenaResetListener;
 import com.br.gravitationalbattle.listeners.GameListener;
 import com.br.gravitationalbattle.listeners.MenuListener;
 import com.br.gravitationalbattle.listeners.PlayerListener;
 import com.br.gravitationalbattle.managers.AbilityManager;
+import com.br.gravitationalbattle.managers.ArenaInstanceManager;
 import com.br.gravitationalbattle.managers.ArenaManager;
+import com.br.gravitationalbattle.managers.ArenaResetManager;
+import com.br.gravitationalbattle.managers.ChunkWarmupManager;
 import com.br.gravitationalbattle.managers.ConfigManager;
 import com.br.gravitationalbattle.managers.GameManager;
+import com.br.gravitationalbattle.managers.LeaderboardManager;
 import com.br.gravitationalbattle.managers.LevelManager;
 import com.br.gravitationalbattle.managers.NPCManager;
+import com.br.gravitationalbattle.managers.PlayerDataManager;
 import com.br.gravitationalbattle.managers.RewardManager;
 import com.br.gravitationalbattle.managers.ScoreboardManager;
+import com.br.gravitationalbattle.managers.SettlementManager;
 import com.br.gravitationalbattle.managers.StatsManager;
 import com.br.gravitationalbattle.managers.TabManager;
 import com.br.gravitationalbattle.managers.TeamManager;
-
+import com.br.gravitationalbattle.managers.TeleportManager;
+import com.br.gravitationalbattle.storage.MappedStorage;
+import com.br.gravitationalbattle.storage.PlayerStorage;
+import com.br.gravitationalbattle.storage.SaveService;
+import com.br.gravitationalbattle.storage.SqlStorage;
+import com.br.gravitationalbattle.storage.YamlStorage;
+
+import java.io.IOException;
 import java.util.Arrays;
 
 public class GravitationalBattle extends JavaPlugin {
 
     private ConfigManager configManager;
     private ArenaManager arenaManager;
+    private ArenaInstanceManager arenaInstanceManager;
+    private ArenaResetManager arenaResetManager;
+    private ChunkWarmupManager chunkWarmupManager;
+    private TeleportManager teleportManager;
     private GameManager gameManager;
     private StatsManager statsManager;
     private ScoreboardManager scoreboardManager;
@@ -51,15 +69,29 @@ public class GravitationalBattle extends JavaPlugin {
     private PlayerCommands playerCommands;
     private ModeratorCommands moderatorCommands;
     private NPCManager npcManager;
+    private SaveService saveService;
+    private PlayerStorage playerStorage;
+    private PlayerDataManager playerDataManager;
+    private LeaderboardManager leaderboardManager;
+    private SettlementManager settlementManager;
 
     @Override
     public void onEnable() {
         // Initialize managers
+        saveService = new SaveService(getLogger());
         configManager = new ConfigManager(this);
         arenaManager = new ArenaManager(this);
+        arenaInstanceManager = new ArenaInstanceManager(this);
+        arenaResetManager = new ArenaResetManager(this);
+        chunkWarmupManager = new ChunkWarmupManager(this);
+        teleportManager = new TeleportManager(this);
+        playerStorage = openPlayerStorage();
+        playerDataManager = new PlayerDataManager(this);
+        leaderboardManager = new LeaderboardManager(this);
         statsManager = new StatsManager(this);
         scoreboardManager = new ScoreboardManager(this);
         rewardManager = new RewardManager(this);
+        settlementManager = new SettlementManager(this);
         levelManager = new LevelManager(this);
         abilityManager = new AbilityManager(this);
         teamManager = new TeamManager(this);
@@ -72,12 +104,15 @@ public class GravitationalBattle extends JavaPlugin {
         configManager.loadConfig();
 
         // Load data
-        rewardManager.loadData();
         levelManager.loadData();
 
         // Load arenas
         arenaManager.loadArenas();
 
+        // Deixar as instâncias das arenas e as cópias das regiões prontas antes dos primeiros jogadores
+        arenaInstanceManager.warmUp();
+        arenaResetManager.snapshotAll();
+
         // Initialize tab manager after configs loaded
         tabManager = new TabManager(this);
 
@@ -106,6 +141,47 @@ public class GravitationalBattle extends JavaPlugin {
         getLogger().info("Batalha Gravitacional foi ativada com sucesso!");
     }
 
+    /**
+     * Abre o armazenamento de dados dos jogadores escolhido em storage.type,
+     * voltando para YAML se o banco de dados não puder ser aberto
+     *
+     * @return O armazenamento aberto
+     */
+    private PlayerStorage openPlayerStorage() {
+        String type = configManager.getStorageType();
+
+        if ("sqlite".equalsIgnoreCase(type)) {
+            PlayerStorage storage = new SqlStorage(this);
+            try {
+                storage.open();
+                getLogger().info("Dados dos jogadores armazenados em SQLite.");
+                return storage;
+            } catch (IOException e) {
+                getLogger().severe("Não foi possível abrir o banco SQLite, usando YAML: " + e.getMessage());
+                storage.close();
+            }
+        } else if ("mapped".equalsIgnoreCase(type)) {
+            PlayerStorage storage = new MappedStorage(this);
+            try {
+                storage.open();
+                getLogger().info("Estatísticas dos jogadores armazenadas em stats.dat.");
+                return storage;
+            } catch (IOException e) {
+                getLogger().severe("Não foi possível abrir o stats.dat, usando YAML: " + e.getMessage());
+                storage.close();
+            }
+        }
+
+        PlayerStorage storage = new YamlStorage(this);
+        try {
+            storage.open();
+        } catch (IOException e) {
+            getLogger().severe("Erro ao abrir os dados dos jogadores: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return storage;
+    }
+
     /**
      * Registra todos os comandos do plugin
      */
@@ -141,6 +217,7 @@ public class GravitationalBattle extends JavaPlugin {
         pm.registerEvents(new PlayerListener(this), this);
         pm.registerEvents(new GameListener(this), this);
         pm.registerEvents(new MenuListener(this), this);
+        pm.registerEvents(new ArenaResetListener(this), this);
         getLogger().info("Todos os listeners foram registrados com sucesso!");
     }
 
@@ -180,15 +257,29 @@ public class GravitationalBattle extends JavaPlugin {
 
     @Override
     public void onDisable() {
-        // Save all data
+        // Encerrar os jogos na hora: jogadores de volta ao lobby, arenas restauradas e instâncias
+        // descartadas enquanto os gerenciadores ainda funcionam
+        for (Game game : arenaManager.getAllGames()) {
+            game.shutdown();
+        }
+
+        // Parar o relógio central dos jogos
+        gameManager.shutdown();
+
+        // Concluir os teleportes que ainda estão na fila
+        teleportManager.shutdown();
+
+        // Descartar os mundos copiados das arenas e restaurar o que faltar nas demais
+        arenaInstanceManager.shutdown();
+        arenaResetManager.shutdown();
+        chunkWarmupManager.shutdown();
+
+        // Save all data (after the games, so nothing they change is left unwritten)
         statsManager.saveStats();
         rewardManager.saveData();
         levelManager.saveData();
-
-        // End all active games
-        for (Game game : arenaManager.getActiveGames()) {
-            game.forceEnd();
-        }
+        playerStorage.close();
+        saveService.close();
 
         getLogger().info("Batalha Gravitacional foi desativada!");
     }
@@ -201,6 +292,22 @@ public class GravitationalBattle extends JavaPlugin {
         return arenaManager;
     }
 
+    public ArenaInstanceManager getArenaInstanceManager() {
+        return arenaInstanceManager;
+    }
+
+    public ArenaResetManager getArenaResetManager() {
+        return arenaResetManager;
+    }
+
+    public ChunkWarmupManager getChunkWarmupManager() {
+        return chunkWarmupManager;
+    }
+
+    public TeleportManager getTeleportManager() {
+        return teleportManager;
+    }
+
     public GameManager getGameManager() {
         return gameManager;
     }
@@ -244,4 +351,24 @@ public class GravitationalBattle extends JavaPlugin {
     public NPCManager getNPCManager() {
         return npcManager;
     }
+
+    public SaveService getSaveService() {
+        return saveService;
+    }
+
+    public PlayerStorage getPlayerStorage() {
+        return playerStorage;
+    }
+
+    public PlayerDataManager getPlayerDataManager() {
+        return playerDataManager;
+    }
+
+    public LeaderboardManager getLeaderboardManager() {
+        return leaderboardManager;
+    }
+
+    public SettlementManager getSettlementManager() {
+        return settlementManager;
+    }
 }
\ No newline at end of file
@@ -110,6 +110,14 @@ public class ArenaCommand implements CommandExecutor, TabCompleter {
                 handleSetGameMode(player, args[1], args[2]);
                 break;
 
+            case "resnapshot":
+                if (args.length < 2) {
+                    MessageUtil.sendMessage(player, "&cUso correto: /arena resnapshot <nome>");
+                    return true;
+                }
+                handleResnapshot(player, args[1]);
+                break;
+
             default:
                 MessageUtil.sendMessage(player, "&cSubcomando desconhecido. Use /arena para ver os comandos disponíveis.");
                 break;
@@ -134,6 +142,7 @@ public class ArenaCommand implements CommandExecutor, TabCompleter {
         MessageUtil.sendMessage(player, "&e/arena setminplayers <nome> <quantidade> &7- Define o número mínimo de jogadores");
         MessageUtil.sendMessage(player, "&e/arena setmaxplayers <nome> <quantidade> &7- Define o número máximo de jogadores");
         MessageUtil.sendMessage(player, "&e/arena setmode <nome> <modo> &7- Define o modo de jogo (SOLO, DUOS, SQUADS, etc)");
+        MessageUtil.sendMessage(player, "&e/arena resnapshot <nome> &7- Copia de novo o mapa da arena depois de editá-lo");
     }
 
     /**
@@ -212,6 +221,9 @@ public class ArenaCommand implements CommandExecutor, TabCompleter {
         arena.addSpawnPoint(player.getLocation().clone());
         arenaManager.saveArenas();
 
+        // A região copiada para restaurar a arena muda junto com os spawns
+        plugin.getArenaResetManager().refresh(arena);
+
         int spawnCount = arena.getSpawnPointCount();
         MessageUtil.sendMessage(player, "&aPonto de spawn #" + spawnCount + " adicionado à arena '" + arena.getName() + "'!");
     }
@@ -363,6 +375,28 @@ public class ArenaCommand implements CommandExecutor, TabCompleter {
         }
     }
 
+    /**
+     * Manipula o comando para copiar de novo o mapa de uma arena
+     *
+     * @param player O jogador que executou o comando
+     * @param name Nome da arena
+     */
+    private void handleResnapshot(Player player, String name) {
+        Arena arena = arenaManager.getArena(name);
+
+        if (arena == null) {
+            MessageUtil.sendMessage(player, "&cNão existe uma arena com o nome '" + name + "'.");
+            return;
+        }
+
+        if (!plugin.getArenaResetManager().resnapshot(arena)) {
+            MessageUtil.sendMessage(player, "&cA arena '" + name + "' está em uso ou sendo restaurada. Tente quando estiver livre.");
+            return;
+        }
+
+        MessageUtil.sendMessage(player, "&aO mapa da arena '" + name + "' está sendo copiado de novo.");
+    }
+
     @Override
     public List<String> onTabComplete(CommandSender sender, Command cmd, String alias, String[] args) {
         List<String> completions = new ArrayList<>();
@@ -377,6 +411,7 @@ public class ArenaCommand implements CommandExecutor, TabCompleter {
             completions.add("setminplayers");
             completions.add("setmaxplayers");
             completions.add("setmode");
+            completions.add("resnapshot");
 
             return filterCompletions(completions, args[0]);
         }
@@ -386,7 +421,7 @@ public class ArenaCommand implements CommandExecutor, TabCompleter {
 
             if (subCommand.equals("delete") || subCommand.equals("info") ||
                     subCommand.equals("setminplayers") || subCommand.equals("setmaxplayers") ||
-                    subCommand.equals("setmode")) {
+                    subCommand.equals("setmode") || subCommand.equals("resnapshot")) {
 
                 return filterCompletions(
                         arenaManager.getAllArenas().stream()
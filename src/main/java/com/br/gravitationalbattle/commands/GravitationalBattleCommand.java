@@ -10,6 +10,8 @@ import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 
 import com.br.gravitationalbattle.GravitationalBattle;
+import com.br.gravitationalbattle.managers.LeaderboardManager;
+import com.br.gravitationalbattle.managers.TeleportManager;
 import com.br.gravitationalbattle.utils.MessageUtil;
 
 public class GravitationalBattleCommand implements CommandExecutor, TabCompleter {
@@ -48,6 +50,19 @@ public class GravitationalBattleCommand implements CommandExecutor, TabCompleter
                 MessageUtil.sendMessage(sender, "&aConfigurações recarregadas com sucesso!");
                 break;
 
+            case "top":
+                sendTop(sender, args);
+                break;
+
+            case "teleports":
+                if (!sender.hasPermission("gravitationalbattle.admin")) {
+                    MessageUtil.sendMessage(sender, "&cVocê não tem permissão para usar este comando.");
+                    return true;
+                }
+
+                sendTeleportStats(sender);
+                break;
+
             default:
                 MessageUtil.sendMessage(sender, "&cComando desconhecido. Use &e/gb help &cpara ver a lista de comandos.");
                 break;
@@ -56,6 +71,42 @@ public class GravitationalBattleCommand implements CommandExecutor, TabCompleter
         return true;
     }
 
+    private void sendTop(CommandSender sender, String[] args) {
+        LeaderboardManager.Stat stat = args.length > 1 ? LeaderboardManager.Stat.fromName(args[1]) : null;
+        if (stat == null) {
+            MessageUtil.sendMessage(sender, "&cUso: /gb top <kills|wins|games|kd>");
+            return;
+        }
+
+        List<LeaderboardManager.Entry> top = plugin.getLeaderboardManager().getTop(stat, LeaderboardManager.TOP_SIZE);
+
+        MessageUtil.sendMessage(sender, "&6===== &eTop " + stat.getDisplayName() + " &6=====");
+        if (top.isEmpty()) {
+            MessageUtil.sendMessage(sender, "&7Nenhum jogador no ranking ainda.");
+            return;
+        }
+
+        int position = 1;
+        for (LeaderboardManager.Entry entry : top) {
+            String score = stat == LeaderboardManager.Stat.KD
+                    ? String.format("%.2f", entry.getScore())
+                    : String.valueOf((int) entry.getScore());
+            MessageUtil.sendMessage(sender, "&e" + position + ". &f" + entry.getName() + " &7- &a" + score);
+            position++;
+        }
+    }
+
+    private void sendTeleportStats(CommandSender sender) {
+        TeleportManager teleports = plugin.getTeleportManager();
+
+        MessageUtil.sendMessage(sender, "&6===== &eFila de Teleportes &6=====");
+        MessageUtil.sendMessage(sender, "&7Na fila: &a" + teleports.getQueueDepth()
+                + " &7(máximo: &a" + teleports.getMaxQueueDepth() + "&7)");
+        MessageUtil.sendMessage(sender, "&7Concluídos: &a" + teleports.getCompletedCount());
+        MessageUtil.sendMessage(sender, "&7Latência média: &a" + teleports.getAverageLatencyNanos() / 1000000
+                + "ms &7(máxima: &a" + teleports.getMaxLatencyNanos() / 1000000 + "ms&7)");
+    }
+
     private void sendHelpMessage(CommandSender sender) {
         MessageUtil.sendMessage(sender, "&6===== &eComandos do Gravitational Battle &6=====");
         MessageUtil.sendMessage(sender, "&e/gb &7- Mostra informações sobre o plugin");
@@ -63,6 +114,7 @@ public class GravitationalBattleCommand implements CommandExecutor, TabCompleter
 
         if (sender.hasPermission("gravitationalbattle.admin")) {
             MessageUtil.sendMessage(sender, "&e/gb reload &7- Recarrega as configurações do plugin");
+            MessageUtil.sendMessage(sender, "&e/gb teleports &7- Mostra a fila de teleportes");
             MessageUtil.sendMessage(sender, "&e/arena &7- Comandos de gerenciamento de arenas");
             MessageUtil.sendMessage(sender, "&e/setlobby &7- Define o lobby principal");
         }
@@ -71,6 +123,7 @@ public class GravitationalBattleCommand implements CommandExecutor, TabCompleter
         MessageUtil.sendMessage(sender, "&e/join random &7- Entra em um jogo aleatório");
         MessageUtil.sendMessage(sender, "&e/leave &7- Sai do jogo atual");
         MessageUtil.sendMessage(sender, "&e/stats [jogador] &7- Mostra estatísticas");
+        MessageUtil.sendMessage(sender, "&e/gb top <kills|wins|games|kd> &7- Mostra o ranking");
         MessageUtil.sendMessage(sender, "&e/spectate <arena|jogador> &7- Assiste a um jogo");
         MessageUtil.sendMessage(sender, "&e/abrirloja &7- Abre a loja do jogo");
     }
@@ -81,12 +134,22 @@ public class GravitationalBattleCommand implements CommandExecutor, TabCompleter
 
         if (args.length == 1) {
             completions.add("help");
+            completions.add("top");
             if (sender.hasPermission("gravitationalbattle.admin")) {
                 completions.add("reload");
+                completions.add("teleports");
             }
             return filterCompletions(completions, args[0]);
         }
 
+        if (args.length == 2 && args[0].equalsIgnoreCase("top")) {
+            completions.add("kills");
+            completions.add("wins");
+            completions.add("games");
+            completions.add("kd");
+            return filterCompletions(completions, args[1]);
+        }
+
         return completions;
     }
 
@@ -1,12 +1,15 @@
 package com.br.gravitationalbattle.commands;
 
 import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
 import com.br.gravitationalbattle.GravitationalBattle;
+import com.br.gravitationalbattle.storage.PlayerData;
+import com.br.gravitationalbattle.storage.PlayerStorage;
 import com.br.gravitationalbattle.utils.MessageUtil;
 
 public class StatsCommand implements CommandExecutor {
@@ -24,27 +27,55 @@ public class StatsCommand implements CommandExecutor {
             return true;
         }
 
-        Player target;
-
         if (args.length > 0) {
-            // Check other player's stats
-            target = Bukkit.getPlayer(args[0]);
-            if (target == null) {
-                MessageUtil.sendMessage(sender, "&cPlayer not found!");
+            // Check other player's stats, online or not
+            Player online = Bukkit.getPlayer(args[0]);
+            if (online != null) {
+                showStats(sender, online);
                 return true;
             }
+
+            // Offline names are matched against the players known to this server, in the background:
+            // Bukkit.getOfflinePlayer(String) may block on a Mojang lookup
+            final String name = args[0];
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+                final OfflinePlayer target = findOfflinePlayer(name);
+                Bukkit.getScheduler().runTask(plugin, () -> {
+                    if (target == null) {
+                        MessageUtil.sendMessage(sender, "&cPlayer not found!");
+                        return;
+                    }
+                    showStats(sender, target);
+                });
+            });
         } else if (sender instanceof Player) {
             // Check own stats
-            target = (Player) sender;
+            showStats(sender, (Player) sender);
         } else {
             MessageUtil.sendMessage(sender, "&cUsage: /stats <player>");
-            return true;
         }
+        return true;
+    }
 
-        int kills = plugin.getStatsManager().getPlayerKills(target);
-        int deaths = plugin.getStatsManager().getPlayerDeaths(target);
-        int wins = plugin.getStatsManager().getPlayerWins(target);
-        int gamesPlayed = plugin.getStatsManager().getPlayerGamesPlayed(target);
+    private static OfflinePlayer findOfflinePlayer(String name) {
+        for (OfflinePlayer player : Bukkit.getOfflinePlayers()) {
+            if (name.equalsIgnoreCase(player.getName())) {
+                return player;
+            }
+        }
+        return null;
+    }
+
+    private void showStats(CommandSender sender, OfflinePlayer target) {
+        // Players not in the cache are read in the background; the reply comes on the main thread
+        plugin.getPlayerDataManager().getOfflineAsync(target.getUniqueId(), data -> sendStats(sender, target, data));
+    }
+
+    private void sendStats(CommandSender sender, OfflinePlayer target, PlayerData data) {
+        int kills = data.getStat(PlayerStorage.KILLS);
+        int deaths = data.getStat(PlayerStorage.DEATHS);
+        int wins = data.getStat(PlayerStorage.WINS);
+        int gamesPlayed = data.getStat(PlayerStorage.GAMES_PLAYED);
 
         String targetName = (sender == target) ? "Your" : target.getName() + "'s";
 
@@ -55,7 +86,5 @@ public class StatsCommand implements CommandExecutor {
         MessageUtil.sendMessage(sender, "&eWins: &f" + wins);
         MessageUtil.sendMessage(sender, "&eGames Played: &f" + gamesPlayed);
         MessageUtil.sendMessage(sender, "&eWin Rate: &f" + (gamesPlayed > 0 ? String.format("%.2f%%", (double)wins/gamesPlayed*100) : "0.00%"));
-
-        return true;
     }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.UUID;
 
 import org.bukkit.Location;
+import org.bukkit.World;
 
 /**
  * Representa uma arena do jogo
@@ -21,6 +22,12 @@ public class Arena {
     private GameMode defaultGameMode;
     private GameState state;
 
+    // Arena de origem quando esta é uma instância em um mundo copiado
+    private Arena template;
+
+    // Spawns validados e quem está em cada um
+    private final SpawnAllocator spawnAllocator;
+
     /**
      * Cria uma nova arena
      *
@@ -34,6 +41,7 @@ public class Arena {
         this.spawnPoints = new ArrayList<>();
         this.defaultGameMode = GameMode.SOLO; // Modo padrão
         this.state = GameState.AVAILABLE; // Estado padrão
+        this.spawnAllocator = new SpawnAllocator(this);
     }
 
     /**
@@ -80,6 +88,7 @@ public class Arena {
     public void addSpawnPoint(Location location) {
         if (location != null) {
             spawnPoints.add(location.clone());
+            spawnAllocator.invalidate();
         }
     }
 
@@ -92,6 +101,7 @@ public class Arena {
     public boolean removeSpawnPoint(int index) {
         if (index >= 0 && index < spawnPoints.size()) {
             spawnPoints.remove(index);
+            spawnAllocator.invalidate();
             return true;
         }
         return false;
@@ -115,6 +125,15 @@ public class Arena {
         return spawnPoints.size();
     }
 
+    /**
+     * Obtém o distribuidor de spawns da arena
+     *
+     * @return Distribuidor de spawns
+     */
+    public SpawnAllocator getSpawnAllocator() {
+        return spawnAllocator;
+    }
+
     /**
      * Define a localização do lobby da arena
      *
@@ -211,6 +230,57 @@ public class Arena {
         return state;
     }
 
+    /**
+     * Cria uma instância desta arena em uma cópia do seu mundo.
+     * Spawns e lobby que estão no mundo da arena passam para o mundo da instância.
+     *
+     * @param world Mundo copiado
+     * @return A instância, com o mesmo nome desta arena
+     */
+    public Arena createInstance(World world) {
+        Arena instance = new Arena(name, world.getUID());
+        instance.template = this;
+        instance.displayName = displayName;
+        instance.minPlayers = minPlayers;
+        instance.maxPlayers = maxPlayers;
+        instance.defaultGameMode = defaultGameMode;
+        instance.state = state;
+
+        for (Location spawnPoint : spawnPoints) {
+            instance.spawnPoints.add(relocate(spawnPoint, world));
+        }
+        if (lobbyLocation != null) {
+            instance.lobbyLocation = relocate(lobbyLocation, world);
+        }
+        return instance;
+    }
+
+    private Location relocate(Location location, World world) {
+        Location copy = location.clone();
+        if (location.getWorld() != null && location.getWorld().getUID().equals(worldUUID)) {
+            copy.setWorld(world);
+        }
+        return copy;
+    }
+
+    /**
+     * Verifica se esta arena é uma instância em um mundo copiado
+     *
+     * @return true se for uma instância
+     */
+    public boolean isInstance() {
+        return template != null;
+    }
+
+    /**
+     * Obtém a arena de origem de uma instância
+     *
+     * @return A arena de origem, ou esta mesma arena se não for uma instância
+     */
+    public Arena getTemplate() {
+        return template != null ? template : this;
+    }
+
     /**
      * Verifica se a arena está disponível para jogo
      *
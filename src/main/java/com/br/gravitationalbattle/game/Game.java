@@ -3,8 +3,10 @@ package com.br.gravitationalbattle.game;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import org.bukkit.Bukkit;
@@ -16,13 +18,10 @@ import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.PlayerInventory;
 import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
-import org.bukkit.scoreboard.Scoreboard;
-import org.bukkit.scoreboard.Team;
-import org.bukkit.Chunk;
 
 import com.br.gravitationalbattle.GravitationalBattle;
+import com.br.gravitationalbattle.managers.ChunkWarmupManager;
+import com.br.gravitationalbattle.storage.Settlement;
 import com.br.gravitationalbattle.utils.MessageUtil;
 
 public class Game {
@@ -30,35 +29,66 @@ public class Game {
     private final GravitationalBattle plugin;
     private final Arena arena;
     private GameState state;
-    private List<UUID> players;
-    private List<UUID> spectators;
-    private Map<UUID, Boolean> playerAliveStatus;
-    private Map<UUID, Integer> playerKills;
-    private Map<UUID, Integer> playerRewards;
-    private Map<UUID, Integer> playerXP;
+
+    // Identifica esta partida na liquidação das recompensas
+    private final UUID matchId;
+
+    // Per-player state lives in parallel arrays indexed by slot; slots [0, slotCount) are in use
+    private static final byte FLAG_PLAYER = 1;
+    private static final byte FLAG_ALIVE = 2;
+    private static final byte FLAG_SPECTATOR = 4;
+    private static final byte FLAG_REWARD_SET = 8;
+    private static final byte FLAG_XP_SET = 16;
+
+    private final Map<UUID, Integer> slotIndex;
+    private UUID[] slotIds;
+    private byte[] slotFlags;
+    private int[] slotKills;
+    private int[] slotRewards;
+    private int[] slotXP;
+    private int slotCount;
+
+    // Counters kept in step with the flags by setFlags(), so reads never scan the table
+    private int playerCount;
+    private int aliveCount;
+    private int spectatorCount;
+
     private Map<UUID, Location> playerStartLocations;
+
+    // Teleportes para a arena esperando o chunk do destino carregar
+    private final Map<UUID, ChunkWarmupManager.Pending> pendingTeleports;
     private com.br.gravitationalbattle.game.GameMode gameMode;
-    private BukkitTask gameTask;
-    private BukkitTask countdownTask;
     private int countdown;
     private int gameTime;
-    private Scoreboard healthScoreboard;
+    private int endingCountdown;
+
+    // Seconds between the end of the match and the return to the lobby
+    private static final int ENDING_SECONDS = 5;
 
     public Game(GravitationalBattle plugin, Arena arena) {
         this.plugin = plugin;
         this.arena = arena;
+        this.matchId = UUID.randomUUID();
         this.state = GameState.WAITING;
-        this.players = new ArrayList<>();
-        this.spectators = new ArrayList<>();
-        this.playerAliveStatus = new HashMap<>();
-        this.playerKills = new HashMap<>();
-        this.playerRewards = new HashMap<>();
-        this.playerXP = new HashMap<>();
+        this.slotIndex = new HashMap<>();
+        int capacity = Math.max(arena.getMaxPlayers(), 1) + 4; // Alguns espaços extras para espectadores
+        this.slotIds = new UUID[capacity];
+        this.slotFlags = new byte[capacity];
+        this.slotKills = new int[capacity];
+        this.slotRewards = new int[capacity];
+        this.slotXP = new int[capacity];
+        this.slotCount = 0;
+        this.playerCount = 0;
+        this.aliveCount = 0;
+        this.spectatorCount = 0;
         this.playerStartLocations = new HashMap<>();
+        this.pendingTeleports = new HashMap<>();
         this.gameMode = com.br.gravitationalbattle.game.GameMode.SOLO; // Modo padrão
         this.countdown = plugin.getConfigManager().getStartCountdown();
         this.gameTime = 0;
-        this.healthScoreboard = Bukkit.getScoreboardManager().getNewScoreboard();
+
+        // Jogo novo: todos os spawns da arena estão livres
+        arena.getSpawnAllocator().reset();
     }
 
     /**
@@ -107,15 +137,20 @@ public class Game {
     public int getPlayerReward(Player player) {
         if (player == null) return 0;
 
+        int slot = slotOf(player.getUniqueId());
+        if (slot >= 0 && hasFlag(slot, FLAG_REWARD_SET)) {
+            return slotRewards[slot];
+        }
+
         // Se não tiver sido calculada ainda, calcular agora
-        if (!playerRewards.containsKey(player.getUniqueId())) {
-            int kills = getPlayerKills(player);
-            boolean isWinner = isWinner(player);
-            int reward = plugin.getRewardManager().calculateGameReward(kills, isWinner, gameTime);
-            playerRewards.put(player.getUniqueId(), reward);
+        int kills = getPlayerKills(player);
+        boolean isWinner = isWinner(player);
+        int reward = plugin.getRewardManager().calculateGameReward(kills, isWinner, gameTime);
+        if (slot >= 0) {
+            setReward(slot, reward);
         }
 
-        return playerRewards.getOrDefault(player.getUniqueId(), 0);
+        return reward;
     }
 
     /**
@@ -127,16 +162,21 @@ public class Game {
     public int getPlayerXP(Player player) {
         if (player == null) return 0;
 
+        int slot = slotOf(player.getUniqueId());
+        if (slot >= 0 && hasFlag(slot, FLAG_XP_SET)) {
+            return slotXP[slot];
+        }
+
         // Se não tiver sido calculado ainda, calcular agora
-        if (!playerXP.containsKey(player.getUniqueId())) {
-            int kills = getPlayerKills(player);
-            boolean isWinner = isWinner(player);
-            int timeMinutes = gameTime / 60;
-            int xp = plugin.getLevelManager().calculateGameXP(kills, isWinner, timeMinutes);
-            playerXP.put(player.getUniqueId(), xp);
+        int kills = getPlayerKills(player);
+        boolean isWinner = isWinner(player);
+        int timeMinutes = gameTime / 60;
+        int xp = plugin.getLevelManager().calculateGameXP(kills, isWinner, timeMinutes);
+        if (slot >= 0) {
+            setXP(slot, xp);
         }
 
-        return playerXP.getOrDefault(player.getUniqueId(), 0);
+        return xp;
     }
 
     /**
@@ -150,7 +190,7 @@ public class Game {
 
         // Se o jogador estiver vivo e for o único, é vencedor
         if (state == GameState.ENDING &&
-                playerAliveStatus.getOrDefault(player.getUniqueId(), false) &&
+                isAlive(slotOf(player.getUniqueId())) &&
                 getAliveCount() == 1) {
             return true;
         }
@@ -175,7 +215,8 @@ public class Game {
      */
     public boolean isSpectator(Player player) {
         if (player == null) return false;
-        return spectators.contains(player.getUniqueId());
+        int slot = slotOf(player.getUniqueId());
+        return slot >= 0 && hasFlag(slot, FLAG_SPECTATOR);
     }
 
     /**
@@ -203,7 +244,8 @@ public class Game {
      * @return Number of kills
      */
     public int getPlayerKills(Player player) {
-        return playerKills.getOrDefault(player.getUniqueId(), 0);
+        int slot = slotOf(player.getUniqueId());
+        return slot >= 0 ? slotKills[slot] : 0;
     }
 
     /**
@@ -213,12 +255,13 @@ public class Game {
      */
     public void recordKill(Player killer) {
         if (killer != null) {
-            UUID killerUUID = killer.getUniqueId();
-            int currentKills = playerKills.getOrDefault(killerUUID, 0);
-            playerKills.put(killerUUID, currentKills + 1);
+            int slot = slotOf(killer.getUniqueId());
+            if (slot >= 0) {
+                slotKills[slot]++;
+            }
 
             // Update killer's scoreboard
-            plugin.getScoreboardManager().updateGameScoreboard(killer, this);
+            plugin.getScoreboardManager().markDirty(killer);
         }
     }
 
@@ -240,24 +283,16 @@ public class Game {
      * @return List of online players
      */
     public List<Player> getOnlinePlayers() {
-        List<Player> onlinePlayers = new ArrayList<>();
+        List<Player> onlinePlayers = new ArrayList<>(slotCount);
 
-        // Add regular players
-        for (UUID playerId : players) {
-            Player player = Bukkit.getPlayer(playerId);
+        // Players and spectators share the slot table, each listed once
+        for (int slot = 0; slot < slotCount; slot++) {
+            Player player = Bukkit.getPlayer(slotIds[slot]);
             if (player != null && player.isOnline()) {
                 onlinePlayers.add(player);
             }
         }
 
-        // Add spectators
-        for (UUID spectatorId : spectators) {
-            Player spectator = Bukkit.getPlayer(spectatorId);
-            if (spectator != null && spectator.isOnline()) {
-                onlinePlayers.add(spectator);
-            }
-        }
-
         return onlinePlayers;
     }
 
@@ -269,24 +304,26 @@ public class Game {
      */
     public boolean addSpectator(Player player) {
         // Check if player is already in the game or spectating
-        if (players.contains(player.getUniqueId())) {
+        int slot = slotOf(player.getUniqueId());
+        if (slot >= 0 && hasFlag(slot, FLAG_PLAYER)) {
             MessageUtil.sendMessage(player, "&cYou are already playing in this game!");
             return false;
         }
 
-        if (spectators.contains(player.getUniqueId())) {
+        if (slot >= 0 && hasFlag(slot, FLAG_SPECTATOR)) {
             MessageUtil.sendMessage(player, "&cYou are already spectating this game!");
             return false;
         }
 
         // Add player to spectators
-        spectators.add(player.getUniqueId());
+        allocateSlot(player.getUniqueId(), FLAG_SPECTATOR);
 
         // Prepare player for spectating
         prepareSpectator(player);
 
         // Send message
-        MessageUtil.sendMessage(player, "&7You are now spectating the game in &e" + arena.getDisplayName() + "&7.");
+        player.sendMessage(plugin.getConfigManager().getMessage("spectate-join").render(
+                "arena", arena.getDisplayName()));
 
         return true;
     }
@@ -299,13 +336,13 @@ public class Game {
      */
     public boolean addPlayer(Player player) {
         // Check if game is full
-        if (players.size() >= arena.getMaxPlayers()) {
+        if (playerCount >= arena.getMaxPlayers()) {
             MessageUtil.sendMessage(player, "&cThis game is full!");
             return false;
         }
 
         // Check if player is already in the game
-        if (players.contains(player.getUniqueId())) {
+        if (hasPlayer(player)) {
             MessageUtil.sendMessage(player, "&cYou are already in this game!");
             return false;
         }
@@ -316,17 +353,17 @@ public class Game {
             return false;
         }
 
-        // Add player to the game
-        players.add(player.getUniqueId());
-        playerAliveStatus.put(player.getUniqueId(), true);
-        playerKills.put(player.getUniqueId(), 0);
+        // Add player to the game (a spectator slot is reused if they were watching)
+        int slot = slotOf(player.getUniqueId());
+        if (slot >= 0) {
+            setFlags(slot, (byte) (FLAG_PLAYER | FLAG_ALIVE));
+        } else {
+            allocateSlot(player.getUniqueId(), (byte) (FLAG_PLAYER | FLAG_ALIVE));
+        }
 
-        // Teleport player to arena
+        // Teleport player to arena (also stores the spawn as their starting location)
         teleportPlayerToArena(player);
 
-        // Store player's starting location
-        playerStartLocations.put(player.getUniqueId(), player.getLocation().clone());
-
         // Prepare player (clear inventory, set gamemode, etc.)
         preparePlayer(player);
 
@@ -336,8 +373,13 @@ public class Game {
         }
 
         // Send join message
-        broadcastMessage("&e" + player.getName() + " &7has joined the game! &8(" +
-                getPlayerCount() + "/" + arena.getMaxPlayers() + ")");
+        broadcastMessage(plugin.getConfigManager().getMessage("player-joined").render(
+                "player", player.getName(),
+                "current", String.valueOf(getPlayerCount()),
+                "max", String.valueOf(arena.getMaxPlayers())));
+
+        // Attach the player to the shared game board
+        plugin.getScoreboardManager().markGameDirty(this);
 
         // Check if game should start
         checkGameStartConditions();
@@ -351,16 +393,18 @@ public class Game {
      * @param player The player
      */
     public void playerDied(Player player) {
-        UUID playerId = player.getUniqueId();
+        int slot = slotOf(player.getUniqueId());
 
-        if (players.contains(playerId)) {
-            playerAliveStatus.put(playerId, false);
+        if (slot >= 0 && hasFlag(slot, FLAG_PLAYER)) {
+            setFlags(slot, (byte) (slotFlags[slot] & ~FLAG_ALIVE));
 
             // Remove battle items and effects
             removeBattleItemsAndEffects(player);
 
             // Broadcast death message
-            broadcastMessage("&c" + player.getName() + " &7has died! &8(" + getAliveCount() + " players remaining)");
+            broadcastMessage(plugin.getConfigManager().getMessage("player-died").render(
+                    "player", player.getName(),
+                    "remaining", String.valueOf(getAliveCount())));
 
             // Make player a spectator
             makeSpectator(player);
@@ -376,15 +420,15 @@ public class Game {
      * @param player The player
      */
     public void makeSpectator(Player player) {
-        UUID playerId = player.getUniqueId();
+        int slot = slotOf(player.getUniqueId());
 
-        if (players.contains(playerId) && !spectators.contains(playerId)) {
-            spectators.add(playerId);
+        if (slot >= 0 && hasFlag(slot, FLAG_PLAYER) && !hasFlag(slot, FLAG_SPECTATOR)) {
+            setFlags(slot, (byte) (slotFlags[slot] | FLAG_SPECTATOR));
 
             // Set up spectator mode
             prepareSpectator(player);
 
-            MessageUtil.sendMessage(player, "&7You are now spectating the game.");
+            player.sendMessage(plugin.getConfigManager().getMessage("now-spectating").render());
         }
     }
 
@@ -395,35 +439,34 @@ public class Game {
      * @return true if player was in the game and removed
      */
     public boolean removePlayer(Player player) {
-        if (!players.contains(player.getUniqueId())) {
+        int slot = slotOf(player.getUniqueId());
+        if (slot < 0 || !hasFlag(slot, FLAG_PLAYER)) {
             return false;
         }
 
         // Remove battle items and effects
         removeBattleItemsAndEffects(player);
 
-        // Remove player from lists
-        players.remove(player.getUniqueId());
-        playerAliveStatus.remove(player.getUniqueId());
-        playerKills.remove(player.getUniqueId());
+        // Free the player's slot (also drops spectator status)
+        freeSlot(slot);
         playerStartLocations.remove(player.getUniqueId());
+        arena.getSpawnAllocator().release(player.getUniqueId());
+        cancelPendingTeleport(player.getUniqueId());
 
         // Remove player from team
         if (gameMode.isTeamBased()) {
             plugin.getTeamManager().removePlayerFromTeam(this, player);
         }
 
-        // Remove from spectators if needed
-        if (spectators.contains(player.getUniqueId())) {
-            spectators.remove(player.getUniqueId());
-        }
-
         // Remove from health display
         removePlayerFromHealthDisplay(player);
 
         // Send leave message
-        broadcastMessage("&e" + player.getName() + " &7has left the game! &8(" +
-                getPlayerCount() + "/" + arena.getMaxPlayers() + ")");
+        broadcastMessage(plugin.getConfigManager().getMessage("player-left").render(
+                "player", player.getName(),
+                "current", String.valueOf(getPlayerCount()),
+                "max", String.valueOf(arena.getMaxPlayers())));
+        plugin.getScoreboardManager().markGameDirty(this);
 
         // Reset player (teleport to lobby, restore inventory, etc.)
         resetPlayer(player);
@@ -443,7 +486,7 @@ public class Game {
      * @return Number of players
      */
     public int getPlayerCount() {
-        return players.size();
+        return playerCount;
     }
 
     /**
@@ -452,18 +495,25 @@ public class Game {
      * @return The count of alive players
      */
     public int getAliveCount() {
-        int count = 0;
-
-        for (UUID playerId : players) {
-            // If the player has an alive status of true or doesn't have an entry
-            // (which means they're still alive by default)
-            Boolean status = playerAliveStatus.get(playerId);
-            if (status == null || status) {
-                count++;
-            }
-        }
+        return aliveCount;
+    }
+
+    /**
+     * Gets the number of players who died in this game
+     *
+     * @return The count of dead players
+     */
+    public int getDeadCount() {
+        return playerCount - aliveCount;
+    }
 
-        return count;
+    /**
+     * Gets the number of spectators, including dead players watching the rest of the match
+     *
+     * @return The count of spectators
+     */
+    public int getSpectatorCount() {
+        return spectatorCount;
     }
 
     /**
@@ -500,7 +550,8 @@ public class Game {
      * @return true if player is in game
      */
     public boolean hasPlayer(Player player) {
-        return players.contains(player.getUniqueId());
+        int slot = slotOf(player.getUniqueId());
+        return slot >= 0 && hasFlag(slot, FLAG_PLAYER);
     }
 
     /**
@@ -509,7 +560,106 @@ public class Game {
      * @return List of player UUIDs
      */
     public List<UUID> getPlayers() {
-        return new ArrayList<>(players);
+        List<UUID> result = new ArrayList<>(playerCount);
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (hasFlag(slot, FLAG_PLAYER)) {
+                result.add(slotIds[slot]);
+            }
+        }
+        return result;
+    }
+
+    // Slot table helpers
+
+    private int slotOf(UUID playerId) {
+        Integer slot = slotIndex.get(playerId);
+        return slot != null ? slot : -1;
+    }
+
+    private boolean hasFlag(int slot, byte flag) {
+        return (slotFlags[slot] & flag) != 0;
+    }
+
+    private boolean isAlive(int slot) {
+        return slot >= 0 && (slotFlags[slot] & (FLAG_PLAYER | FLAG_ALIVE)) == (FLAG_PLAYER | FLAG_ALIVE);
+    }
+
+    private void setReward(int slot, int reward) {
+        slotRewards[slot] = reward;
+        setFlags(slot, (byte) (slotFlags[slot] | FLAG_REWARD_SET));
+    }
+
+    private void setXP(int slot, int xp) {
+        slotXP[slot] = xp;
+        setFlags(slot, (byte) (slotFlags[slot] | FLAG_XP_SET));
+    }
+
+    private int allocateSlot(UUID playerId, byte flags) {
+        if (slotCount == slotIds.length) {
+            int capacity = slotIds.length * 2;
+            slotIds = Arrays.copyOf(slotIds, capacity);
+            slotFlags = Arrays.copyOf(slotFlags, capacity);
+            slotKills = Arrays.copyOf(slotKills, capacity);
+            slotRewards = Arrays.copyOf(slotRewards, capacity);
+            slotXP = Arrays.copyOf(slotXP, capacity);
+        }
+
+        int slot = slotCount++;
+        slotIds[slot] = playerId;
+        slotFlags[slot] = 0;
+        setFlags(slot, flags);
+        slotKills[slot] = 0;
+        slotRewards[slot] = 0;
+        slotXP[slot] = 0;
+        slotIndex.put(playerId, slot);
+        return slot;
+    }
+
+    /**
+     * Frees a slot by moving the last slot into its place, keeping the table dense
+     */
+    private void freeSlot(int slot) {
+        setFlags(slot, (byte) 0);
+        slotIndex.remove(slotIds[slot]);
+
+        int last = --slotCount;
+        if (slot != last) {
+            slotIds[slot] = slotIds[last];
+            slotFlags[slot] = slotFlags[last];
+            slotKills[slot] = slotKills[last];
+            slotRewards[slot] = slotRewards[last];
+            slotXP[slot] = slotXP[last];
+            slotIndex.put(slotIds[slot], slot);
+        }
+        slotIds[last] = null;
+        slotFlags[last] = 0;
+    }
+
+    private void clearSlots() {
+        Arrays.fill(slotIds, 0, slotCount, null);
+        Arrays.fill(slotFlags, 0, slotCount, (byte) 0);
+        slotIndex.clear();
+        slotCount = 0;
+        playerCount = 0;
+        aliveCount = 0;
+        spectatorCount = 0;
+    }
+
+    /**
+     * Replaces the flags of a slot and moves the player/alive/spectator counters accordingly
+     */
+    private void setFlags(int slot, byte flags) {
+        byte old = slotFlags[slot];
+        playerCount += countDelta(old, flags, FLAG_PLAYER);
+        aliveCount += countDelta(old, flags, (byte) (FLAG_PLAYER | FLAG_ALIVE));
+        spectatorCount += countDelta(old, flags, FLAG_SPECTATOR);
+        slotFlags[slot] = flags;
+    }
+
+    private static int countDelta(byte oldFlags, byte newFlags, byte mask) {
+        boolean before = (oldFlags & mask) == mask;
+        boolean after = (newFlags & mask) == mask;
+        return before == after ? 0 : (after ? 1 : -1);
     }
 
     /**
@@ -517,11 +667,10 @@ public class Game {
      */
     public void forceStart() {
         if (state == GameState.WAITING || state == GameState.STARTING) {
-            if (countdownTask != null) {
-                countdownTask.cancel();
-            }
             countdown = 1; // Set countdown to 1 to start quickly
-            startCountdown();
+            if (state == GameState.WAITING) {
+                startCountdown();
+            }
         }
     }
 
@@ -532,6 +681,17 @@ public class Game {
         endGame();
     }
 
+    /**
+     * Encerra o jogo na hora, sem esperar o relógio central (ao desativar o plugin):
+     * os jogadores voltam ao lobby e a arena é restaurada ou descartada antes de os
+     * gerenciadores pararem
+     */
+    public void shutdown() {
+        endGame();
+        plugin.getGameManager().stopTicking(this);
+        returnPlayersToLobby(true);
+    }
+
     // Helper methods
 
     private void teleportPlayerToArena(Player player) {
@@ -543,9 +703,9 @@ public class Game {
             }
 
             if (arena.getSpawnPointCount() > 0) {
-                // Choose a random spawn point
-                int index = (int)(Math.random() * arena.getSpawnPointCount());
-                Location spawnLocation = arena.getSpawnPoints().get(index);
+                // Reservar um spawn livre (validado antes, sem consultar blocos aqui)
+                SpawnAllocator.Strategy strategy = plugin.getConfigManager().getSpawnStrategy();
+                Location spawnLocation = arena.getSpawnAllocator().allocate(player.getUniqueId(), strategy);
 
                 // Verifica se a localização é válida
                 if (spawnLocation == null || spawnLocation.getWorld() == null) {
@@ -570,26 +730,17 @@ public class Game {
                     return;
                 }
 
-                // Carregar chunk antes do teleporte
-                Chunk chunk = targetWorld.getChunkAt(spawnLocation);
-                if (!chunk.isLoaded()) {
-                    chunk.load(true);
-                }
+                playerStartLocations.put(player.getUniqueId(), spawnLocation.clone());
 
-                // Teleportar com segurança
-                teleportSafely(player, spawnLocation);
+                // Teleportar com segurança quando o chunk estiver carregado (sem carregar no meio do tick)
+                teleportWhenLoaded(player, spawnLocation);
             } else {
                 // Sem pontos de spawn, teleportar para spawn do mundo
                 World world = Bukkit.getWorld(arena.getWorldUUID());
                 if (world != null) {
-                    // Carregar chunk antes do teleporte
+                    // Teleportar quando o chunk estiver carregado
                     Location worldSpawn = world.getSpawnLocation();
-                    Chunk chunk = world.getChunkAt(worldSpawn);
-                    if (!chunk.isLoaded()) {
-                        chunk.load(true);
-                    }
-
-                    teleportSafely(player, worldSpawn);
+                    teleportWhenLoaded(player, worldSpawn);
                 } else {
                     plugin.getLogger().warning("Mundo não encontrado para arena: " + arena.getName());
                     // Fallback para o spawn do mundo padrão
@@ -606,61 +757,42 @@ public class Game {
     }
 
     /**
-     * Teleporta um jogador com segurança usando tarefas Bukkit para evitar problemas no thread principal
+     * Teleporta um jogador pela fila central de teleportes
      *
      * @param player O jogador a ser teleportado
      * @param location Localização para onde teleportar
      */
     private void teleportSafely(final Player player, final Location location) {
-        // Verificar se o jogador e a localização são válidos
-        if (player == null || !player.isOnline() || location == null || location.getWorld() == null) {
-            plugin.getLogger().warning("Tentativa de teleporte com player ou localização inválidos");
-            return;
-        }
+        plugin.getTeleportManager().teleport(player, location);
+    }
 
-        // Executar em uma tarefa síncrona para garantir thread-safety
-        Bukkit.getScheduler().runTask(plugin, new Runnable() {
-            @Override
-            public void run() {
-                try {
-                    // Verificar novamente se o jogador ainda está online
-                    if (!player.isOnline()) return;
-
-                    // Tentar integração direta com Multiverse se disponível
-                    if (Bukkit.getPluginManager().getPlugin("Multiverse-Core") != null) {
-                        // Ir para o mundo primeiro e depois para a localização exata
-                        Location safeLocation = location.clone();
-                        World targetWorld = safeLocation.getWorld();
-
-                        // Registrar a tentativa no log
-                        plugin.getLogger().info("Tentando teleportar " + player.getName() +
-                                " para mundo " + targetWorld.getName() + " via métodos seguros");
-
-                        // Primeiro teleportar para o spawn do mundo
-                        player.teleport(targetWorld.getSpawnLocation());
-
-                        // Depois para a localização específica
-                        Bukkit.getScheduler().runTaskLater(plugin, new Runnable() {
-                            @Override
-                            public void run() {
-                                if (player.isOnline()) {
-                                    player.teleport(safeLocation);
-                                    plugin.getLogger().info("Teleporte em duas etapas concluído para " + player.getName());
-                                }
-                            }
-                        }, 10L); // Meio segundo depois
-                    } else {
-                        // Sem Multiverse, teleportar diretamente
-                        boolean success = player.teleport(location);
-                        plugin.getLogger().info("Teleporte direto para " + player.getName() +
-                                " resultado: " + (success ? "sucesso" : "falha"));
-                    }
-                } catch (Exception e) {
-                    plugin.getLogger().severe("Erro durante teleporte seguro: " + e.getMessage());
-                    e.printStackTrace();
-                }
+    /**
+     * Teleporta um jogador para a arena quando o chunk do destino estiver carregado,
+     * se até lá ele ainda estiver no jogo e o jogo não tiver terminado
+     *
+     * @param player O jogador
+     * @param location Destino na arena
+     */
+    private void teleportWhenLoaded(final Player player, final Location location) {
+        final UUID uuid = player.getUniqueId();
+        cancelPendingTeleport(uuid);
+
+        ChunkWarmupManager.Pending pending = plugin.getChunkWarmupManager().whenLoaded(location, () -> {
+            pendingTeleports.remove(uuid);
+            if (player.isOnline() && hasPlayer(player) && state != GameState.ENDING) {
+                teleportSafely(player, location);
             }
         });
+        if (!pending.isDone()) {
+            pendingTeleports.put(uuid, pending);
+        }
+    }
+
+    private void cancelPendingTeleport(UUID uuid) {
+        ChunkWarmupManager.Pending pending = pendingTeleports.remove(uuid);
+        if (pending != null) {
+            pending.cancel();
+        }
     }
 
     private void preparePlayer(Player player) {
@@ -744,50 +876,20 @@ public class Game {
     }
 
     /**
-     * Setup player health display above their head
+     * Setup player health display below their name.
+     * The health objective is tracked by the server, which only sends a packet when health changes.
      */
     private void setupPlayerHealthDisplay(Player player) {
-        // Create team for player if it doesn't exist
-        Team team = healthScoreboard.getTeam(player.getName());
-        if (team == null) {
-            team = healthScoreboard.registerNewTeam(player.getName());
-        }
-
-        // Add player to team
-        team.addPlayer(player);
-
-        // Set name prefix/suffix to show health
-        updatePlayerHealthDisplay(player);
-
-        // Apply scoreboard to all players
-        for (UUID playerId : players) {
-            Player gamePlayer = Bukkit.getPlayer(playerId);
-            if (gamePlayer != null) {
-                gamePlayer.setScoreboard(healthScoreboard);
-            }
-        }
-    }
-
-    /**
-     * Update player health display
-     */
-    private void updatePlayerHealthDisplay(Player player) {
-        Team team = healthScoreboard.getTeam(player.getName());
-        if (team != null) {
-            int health = (int) Math.ceil(player.getHealth());
-            String healthDisplay = " &c❤ " + health;
-            team.setSuffix(MessageUtil.colorize(healthDisplay));
-        }
+        // Seed the score, the client would show 0 until the first health change
+        plugin.getScoreboardManager().getGameBoard(this).getHealthObjective()
+                .getScore(player.getName()).setScore((int) Math.ceil(player.getHealth()));
     }
 
     /**
      * Remove player from health display
      */
     private void removePlayerFromHealthDisplay(Player player) {
-        Team team = healthScoreboard.getTeam(player.getName());
-        if (team != null) {
-            team.unregister();
-        }
+        plugin.getScoreboardManager().getGameBoard(this).getScoreboard().resetScores(player.getName());
     }
 
     private void prepareSpectator(Player player) {
@@ -797,25 +899,28 @@ public class Game {
         player.setFlying(true);
         player.getInventory().clear();
 
+        // Espectadores acompanham a partida pelo scoreboard compartilhado do jogo
+        plugin.getScoreboardManager().attachSpectator(player, this);
+
         // Encontrar um jogador para teleportar
         Player targetPlayer = null;
-        for (UUID playerId : players) {
-            Player target = Bukkit.getPlayer(playerId);
-            Boolean isAlive = playerAliveStatus.get(playerId);
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (!isAlive(slot)) continue;
+            Player target = Bukkit.getPlayer(slotIds[slot]);
 
-            if (target != null && (isAlive == null || isAlive)) {
+            if (target != null) {
                 targetPlayer = target;
                 break;
             }
         }
 
-        // Teleportar para o jogador ou para o spawn do mundo
+        // Teleportar para o jogador ou para o spawn do mundo, pela fila de teleportes
         if (targetPlayer != null) {
-            player.teleport(targetPlayer.getLocation());
+            teleportSafely(player, targetPlayer.getLocation());
         } else {
             World world = Bukkit.getWorld(arena.getWorldUUID());
             if (world != null) {
-                player.teleport(world.getSpawnLocation());
+                teleportSafely(player, world.getSpawnLocation());
             }
         }
     }
@@ -856,6 +961,9 @@ public class Game {
         }
     }
 
+    /**
+     * Evaluated only on membership transitions (death, leave, start), never polled
+     */
     private void checkGameEndConditions() {
         // Check if game should end due to lack of players
         if ((state == GameState.INGAME && getAliveCount() <= 1) ||
@@ -865,41 +973,52 @@ public class Game {
     }
 
     private void startCountdown() {
-        if (countdownTask != null) {
-            countdownTask.cancel();
-        }
-
         state = GameState.STARTING;
 
         // Configurar área de espera com camas para retornar ao lobby
         setupWaitingArea();
 
-        // Start countdown task
-        countdownTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (countdown <= 0) {
-                    cancel();
-                    startGame();
-                    return;
-                }
+        // The central game clock drives the countdown from now on
+        plugin.getGameManager().startTicking(this);
+    }
 
-                // Update all players' scoreboards
-                for (UUID playerId : players) {
-                    Player player = Bukkit.getPlayer(playerId);
-                    if (player != null) {
-                        plugin.getScoreboardManager().updateGameScoreboard(player, Game.this);
-                    }
-                }
+    /**
+     * Runs one second of the current game phase.
+     * Called by the shared clock in GameManager, never by a per-game task.
+     */
+    public void tickSecond() {
+        switch (state) {
+            case STARTING:
+            case COUNTDOWN:
+                tickCountdown();
+                break;
+            case INGAME:
+                tickInGame();
+                break;
+            case ENDING:
+                tickEnding();
+                break;
+            default:
+                break;
+        }
+    }
 
-                // Broadcast countdown messages at specific intervals
-                if (countdown <= 5 || countdown == 10 || countdown == 30) {
-                    broadcastMessage("&eGravitational Battle starting in &c" + countdown + " &eseconds!");
-                }
+    private void tickCountdown() {
+        if (countdown <= 0) {
+            startGame();
+            return;
+        }
 
-                countdown--;
-            }
-        }.runTaskTimer(plugin, 20L, 20L); // Run every second
+        // Update all players' scoreboards
+        plugin.getScoreboardManager().markGameDirty(this);
+
+        // Broadcast countdown messages at specific intervals
+        if (countdown <= 5 || countdown == 10 || countdown == 30) {
+            broadcastMessage(plugin.getConfigManager().getMessage("game-starting").render(
+                    "time", String.valueOf(countdown)));
+        }
+
+        countdown--;
     }
 
     /**
@@ -907,8 +1026,9 @@ public class Game {
      */
     private void setupWaitingArea() {
         // Adicionar uma cama para cada jogador no lobby
-        for (UUID playerId : players) {
-            Player player = Bukkit.getPlayer(playerId);
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (!hasFlag(slot, FLAG_PLAYER)) continue;
+            Player player = Bukkit.getPlayer(slotIds[slot]);
             if (player != null && player.isOnline()) {
                 // Dar cama para voltar ao lobby
                 ItemStack bedItem = new ItemStack(Material.STICK);
@@ -928,11 +1048,12 @@ public class Game {
         state = GameState.INGAME;
 
         // Give items to players without teleporting them
-        for (UUID playerId : players) {
-            Player player = Bukkit.getPlayer(playerId);
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (!hasFlag(slot, FLAG_PLAYER)) continue;
+            Player player = Bukkit.getPlayer(slotIds[slot]);
             if (player != null) {
                 // Update scoreboard
-                plugin.getScoreboardManager().updateGameScoreboard(player, this);
+                plugin.getScoreboardManager().markDirty(player);
 
                 // Give battle items and effects
                 giveBattleItemsAndEffects(player);
@@ -942,64 +1063,52 @@ public class Game {
             }
         }
 
-        broadcastMessage("&a&lThe Gravitational Battle has started! Good luck!");
+        broadcastMessage(plugin.getConfigManager().getMessage("game-started").render());
 
-        // Start game timer
-        gameTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                gameTime++;
+        // Players may have left during the countdown; from here on only deaths and leaves re-check this
+        checkGameEndConditions();
+    }
 
-                // Check for game end conditions
-                checkGameEndConditions();
+    private void tickInGame() {
+        gameTime++;
 
-                // Update scoreboards every 5 seconds
-                if (gameTime % 5 == 0) {
-                    for (UUID playerId : players) {
-                        Player player = Bukkit.getPlayer(playerId);
-                        if (player != null) {
-                            plugin.getScoreboardManager().updateGameScoreboard(player, Game.this);
-                        }
-                    }
-                }
+        // The shared board only sends changed lines; the per-player action bar fades, so refresh every second
+        plugin.getScoreboardManager().markGameDirty(this);
 
-                // Update health displays every second
-                for (UUID playerId : players) {
-                    Player player = Bukkit.getPlayer(playerId);
-                    if (player != null && playerAliveStatus.getOrDefault(playerId, false)) {
-                        updatePlayerHealthDisplay(player);
-                    }
-                }
+        // Force end after max time
+        if (gameTime >= plugin.getConfigManager().getGameTime()) {
+            broadcastMessage(plugin.getConfigManager().getMessage("game-time-limit").render());
+            endGame();
+        }
+    }
 
-                // Force end after max time
-                if (gameTime >= plugin.getConfigManager().getGameTime()) {
-                    broadcastMessage("&c&lGame time limit reached! Ending the game...");
-                    endGame();
-                }
-            }
-        }.runTaskTimer(plugin, 20L, 20L); // Run every second
+    private void tickEnding() {
+        endingCountdown--;
+        if (endingCountdown <= 0) {
+            plugin.getGameManager().stopTicking(this);
+            returnPlayersToLobby(false);
+        }
     }
 
     private void endGame() {
-        // Cancel tasks
-        if (countdownTask != null) {
-            countdownTask.cancel();
-            countdownTask = null;
-        }
-        if (gameTask != null) {
-            gameTask.cancel();
-            gameTask = null;
+        if (state == GameState.ENDING) {
+            return;
         }
 
         // Set state to ending
         state = GameState.ENDING;
 
+        // Quem ainda esperava o chunk da arena não é mais levado para lá
+        for (ChunkWarmupManager.Pending pending : pendingTeleports.values()) {
+            pending.cancel();
+        }
+        pendingTeleports.clear();
+
         // Find winner if any
         Player winner = null;
-        for (UUID playerId : players) {
-            Boolean isAlive = playerAliveStatus.get(playerId);
-            if (isAlive != null && isAlive) {
-                Player player = Bukkit.getPlayer(playerId);
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (isAlive(slot)) {
+                Player player = Bukkit.getPlayer(slotIds[slot]);
                 if (player != null) {
                     winner = player;
                     break;
@@ -1009,36 +1118,31 @@ public class Game {
 
         // Announce winner if there is one
         if (winner != null && getState() == GameState.ENDING) {
-            broadcastMessage("&a&l" + winner.getName() + " &e&lhas won the Gravitational Battle!");
-
-            // Update stats
-            plugin.getStatsManager().addWin(winner);
-            plugin.getStatsManager().saveStats();
+            broadcastMessage(plugin.getConfigManager().getMessage("game-ended").render(
+                    "winner", winner.getName()));
         } else {
-            broadcastMessage("&c&lThe Gravitational Battle has ended with no winner!");
+            broadcastMessage(plugin.getConfigManager().getMessage("game-ended-no-winner").render());
         }
 
-        // Primeiro: preparar as informações de recompensa para cada jogador
-        final Map<UUID, Integer> finalRewards = new HashMap<>();
-        final Map<UUID, Integer> finalXP = new HashMap<>();
-
-        // Calculate rewards for all players and store for later
-        for (UUID playerId : players) {
-            Player player = Bukkit.getPlayer(playerId);
+        // Primeiro: calcular as recompensas de cada jogador e juntar tudo em uma única liquidação
+        Settlement settlement = new Settlement(matchId);
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (!hasFlag(slot, FLAG_PLAYER)) continue;
+            Player player = Bukkit.getPlayer(slotIds[slot]);
             if (player != null) {
                 int kills = getPlayerKills(player);
                 boolean isWinner = (winner != null && player.getUniqueId().equals(winner.getUniqueId()));
 
                 // Calcular moedas
                 int tokens = plugin.getRewardManager().calculateGameReward(kills, isWinner, gameTime);
-                finalRewards.put(playerId, tokens);
-                playerRewards.put(playerId, tokens);
+                setReward(slot, tokens);
 
                 // Calcular XP
                 int timeMinutes = gameTime / 60;
                 int xp = plugin.getLevelManager().calculateGameXP(kills, isWinner, timeMinutes);
-                finalXP.put(playerId, xp);
-                playerXP.put(playerId, xp);
+                setXP(slot, xp);
+
+                settlement.credit(player.getUniqueId(), isWinner ? 1 : 0, 1, tokens, xp);
 
                 // Mostrar na tela
                 MessageUtil.sendMessage(player, "&a&l=== Recompensas da Partida ===");
@@ -1046,103 +1150,84 @@ public class Game {
                 MessageUtil.sendMessage(player, "&bXP: &a+" + xp);
 
                 // Atualizar scoreboard
-                plugin.getScoreboardManager().updateGameScoreboard(player, this);
+                plugin.getScoreboardManager().markDirty(player);
 
                 // Remove battle items and effects
                 removeBattleItemsAndEffects(player);
             }
         }
 
-        // Segundo: salvar a arena e o mundo antes de prosseguir
-        final World arenaWorld = Bukkit.getWorld(arena.getWorldUUID());
-        final Location arenaLobbyLocation = arena.getLobbyLocation();
-        final Location globalLobbyLocation = plugin.getConfigManager().getLobbyLocation();
-
-        // Terceiro: definir a tarefa para retornar os jogadores
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                // Unregister game first to prevent re-entry problems
-                plugin.getArenaManager().unregisterGame(Game.this);
-
-                // Clean up teams if needed
-                if (gameMode.isTeamBased()) {
-                    plugin.getTeamManager().removeTeamsForGame(Game.this);
-                }
-
-                // Copy the list to avoid concurrent modification
-                List<UUID> toRemove = new ArrayList<>(players);
-                for (UUID playerId : toRemove) {
-                    Player player = Bukkit.getPlayer(playerId);
-                    if (player != null && player.isOnline()) {
-                        // Update stats
-                        plugin.getStatsManager().addGamePlayed(player);
-
-                        // Add tokens from saved reward
-                        int reward = finalRewards.getOrDefault(playerId, 0);
-                        if (reward > 0) {
-                            plugin.getRewardManager().addTokens(player, reward);
-                        }
-
-                        // Add XP from saved reward
-                        int xp = finalXP.getOrDefault(playerId, 0);
-                        if (xp > 0) {
-                            plugin.getLevelManager().addXP(player, xp);
-                        }
-
-                        // Properly clear player status
-                        players.remove(playerId);
-                        playerAliveStatus.remove(playerId);
-
-                        // Unregister player from arena manager before teleporting
-                        plugin.getArenaManager().unregisterPlayer(player);
-
-                        // Reset player (include teleport)
-                        resetPlayerWithLobby(player, arenaWorld, arenaLobbyLocation, globalLobbyLocation);
-                    }
-                }
+        // Vitória, partida jogada, moedas e XP de todos gravados de uma vez
+        plugin.getSettlementManager().settle(settlement);
 
-                // Clear players list
-                players.clear();
+        // Segundo: retornar os jogadores após 5 segundos, conduzido pelo relógio central
+        endingCountdown = ENDING_SECONDS;
+        plugin.getGameManager().startTicking(this);
+    }
 
-                // Remove spectators too
-                List<UUID> spectatorsToRemove = new ArrayList<>(spectators);
-                for (UUID spectatorId : spectatorsToRemove) {
-                    Player spectator = Bukkit.getPlayer(spectatorId);
-                    if (spectator != null && spectator.isOnline()) {
-                        // Limpar status de espectador
-                        spectator.setAllowFlight(false);
-                        spectator.setFlying(false);
-                        spectator.setGameMode(org.bukkit.GameMode.SURVIVAL);
-                        spectator.getInventory().clear();
+    /**
+     * Devolve todos os jogadores e espectadores ao lobby quando a fase final termina,
+     * alguns por tick (ver {@link LobbyReturn})
+     *
+     * @param now true para devolver todos de uma vez (ao desativar o plugin)
+     */
+    private void returnPlayersToLobby(boolean now) {
+        // Unregister game first to prevent re-entry problems
+        plugin.getArenaManager().unregisterGame(this);
 
-                        // Atualizar scoreboard
-                        plugin.getScoreboardManager().setLobbyScoreboard(spectator);
+        // Clean up teams if needed
+        if (gameMode.isTeamBased()) {
+            plugin.getTeamManager().removeTeamsForGame(this);
+        }
 
-                        // Reset com teleporte para o lobby
-                        resetPlayerWithLobby(spectator, arenaWorld, arenaLobbyLocation, globalLobbyLocation);
+        // Primeiro os jogadores, depois os espectadores (jogadores mortos continuam sendo jogadores)
+        List<UUID> returning = new ArrayList<>(slotCount);
+        Set<UUID> spectators = new HashSet<>();
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (hasFlag(slot, FLAG_PLAYER)) {
+                returning.add(slotIds[slot]);
+            }
+        }
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (!hasFlag(slot, FLAG_PLAYER)) {
+                returning.add(slotIds[slot]);
+                spectators.add(slotIds[slot]);
+            }
+        }
+        clearSlots();
 
-                        MessageUtil.sendMessage(spectator, "&aVocê foi retornado ao lobby.");
+        LobbyReturn lobbyReturn = new LobbyReturn(plugin, this, returning, spectators,
+                getLobbyDestination(), this::onPlayersReturned);
+        if (now) {
+            lobbyReturn.finish();
+        } else {
+            plugin.getGameManager().startLobbyReturn(lobbyReturn);
+        }
+    }
 
-                        // Dar a esmeralda da loja de volta para o espectador
-                        plugin.giveShopEmerald(spectator);
-                    }
-                }
-                spectators.clear();
-            }
-        }.runTaskLater(plugin, 100L); // 5 seconds delay
+    /**
+     * Executado quando o último jogador da partida volta ao lobby
+     */
+    private void onPlayersReturned() {
+        // Todos já estão na sidebar do lobby, o scoreboard compartilhado pode ser descartado
+        plugin.getScoreboardManager().removeGame(this);
+
+        // Não há mais ninguém na arena: descarta a instância ou restaura a arena como estava
+        if (arena.isInstance()) {
+            plugin.getChunkWarmupManager().release(this);
+            plugin.getArenaInstanceManager().release(arena);
+        } else {
+            // Os tickets dos chunks do jogo ficam até a restauração terminar, para que ela não os carregue de novo
+            plugin.getArenaResetManager().restore(arena, () -> plugin.getChunkWarmupManager().release(this));
+        }
     }
 
     /**
-     * Reset a player with proper lobby teleportation
+     * Remove tudo o que a partida deu a um jogador: voo, inventário, armadura, vida e modo de jogo
      *
-     * @param player The player to reset
-     * @param arenaWorld The arena world
-     * @param arenaLobby The arena-specific lobby location
-     * @param globalLobby The global lobby location
+     * @param player O jogador
      */
-    private void resetPlayerWithLobby(Player player, World arenaWorld, Location arenaLobby, Location globalLobby) {
-        // Reset game-specific settings
+    void resetPlayerState(Player player) {
         player.setAllowFlight(false);
         player.setFlying(false);
         player.getInventory().clear();
@@ -1159,38 +1244,46 @@ public class Game {
 
         // Set proper gamemode
         player.setGameMode(org.bukkit.GameMode.SURVIVAL);
+    }
 
-        // Update scoreboard to lobby
-        plugin.getScoreboardManager().setLobbyScoreboard(player);
+    /**
+     * Picks where players go after the match:
+     * 1. Arena-specific lobby if available (staying in the same world)
+     * 2. Global lobby if available
+     * 3. Default world spawn as last resort
+     *
+     * @return The lobby location
+     */
+    private Location getLobbyDestination() {
+        // Uma instância vai ser descartada: o lobby usado é o da arena de origem
+        Arena lobbyArena = arena.getTemplate();
+        World arenaWorld = Bukkit.getWorld(lobbyArena.getWorldUUID());
+        Location arenaLobby = lobbyArena.getLobbyLocation();
+        Location globalLobby = plugin.getConfigManager().getLobbyLocation();
 
-        // Teleport to lobby with priority:
-        // 1. Arena-specific lobby if available (staying in the same world)
-        // 2. Global lobby if available
-        // 3. Default world spawn as last resort
         if (arenaLobby != null && arenaWorld != null && arenaLobby.getWorld().equals(arenaWorld)) {
-            // Log the teleport attempt
-            plugin.getLogger().info("Teleportando jogador " + player.getName() +
-                    " para o lobby da arena: " + arenaLobby.getWorld().getName() +
-                    " X:" + arenaLobby.getX() + " Y:" + arenaLobby.getY() + " Z:" + arenaLobby.getZ());
-
-            // Teleport to arena-specific lobby (keeps player in same world)
-            teleportSafely(player, arenaLobby);
+            return arenaLobby;
         } else if (globalLobby != null) {
-            // Log the teleport attempt
-            plugin.getLogger().info("Teleportando jogador " + player.getName() +
-                    " para o lobby global: " + globalLobby.getWorld().getName() +
-                    " X:" + globalLobby.getX() + " Y:" + globalLobby.getY() + " Z:" + globalLobby.getZ());
+            return globalLobby;
+        }
 
-            // Teleport to global lobby
-            teleportSafely(player, globalLobby);
-        } else {
-            // Log the teleport attempt
-            plugin.getLogger().warning("Nenhum lobby configurado, teleportando jogador " + player.getName() +
-                    " para o spawn do mundo padrão.");
+        plugin.getLogger().warning("Nenhum lobby configurado para a arena " + arena.getName()
+                + ", usando o spawn do mundo padrão.");
+        return Bukkit.getWorlds().get(0).getSpawnLocation();
+    }
 
-            // Fallback to main world spawn
-            teleportSafely(player, Bukkit.getWorlds().get(0).getSpawnLocation());
-        }
+    /**
+     * Reset a player with proper lobby teleportation
+     *
+     * @param player The player to reset
+     */
+    private void resetPlayerWithLobby(Player player) {
+        resetPlayerState(player);
+
+        // Update scoreboard to lobby
+        plugin.getScoreboardManager().setLobbyScoreboard(player);
+
+        teleportSafely(player, getLobbyDestination());
 
         // Dar a esmeralda da loja de volta para o jogador
         plugin.giveShopEmerald(player);
@@ -1201,13 +1294,8 @@ public class Game {
      * Fixed version that ensures players stay in the arena world
      */
     private void teleportToLobby(Player player) {
-        // Obter o mundo da arena atual
-        World arenaWorld = Bukkit.getWorld(arena.getWorldUUID());
-        Location arenaLobby = arena.getLobbyLocation();
-        Location globalLobby = plugin.getConfigManager().getLobbyLocation();
-
         // Teleportar com a lógica correta de prioridade
-        resetPlayerWithLobby(player, arenaWorld, arenaLobby, globalLobby);
+        resetPlayerWithLobby(player);
     }
 
     /**
@@ -1222,19 +1310,12 @@ public class Game {
         // Registrar mensagem para depuração
         plugin.getLogger().info("Transmitindo para o jogo " + arena.getName() + ": " + message);
 
-        // Enviar para todos os jogadores
-        for (UUID playerId : players) {
-            Player p = Bukkit.getPlayer(playerId);
-            if (p != null && p.isOnline()) {
-                p.sendMessage(MessageUtil.colorize(message));
-            }
-        }
-
-        // Enviar para todos os espectadores
-        for (UUID spectatorId : spectators) {
-            Player p = Bukkit.getPlayer(spectatorId);
+        // Enviar para todos os jogadores e espectadores
+        String colored = MessageUtil.colorize(message);
+        for (int slot = 0; slot < slotCount; slot++) {
+            Player p = Bukkit.getPlayer(slotIds[slot]);
             if (p != null && p.isOnline()) {
-                p.sendMessage(MessageUtil.colorize(message));
+                p.sendMessage(colored);
             }
         }
     }
@@ -0,0 +1,125 @@
+package com.br.gravitationalbattle.game;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Set;
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import com.br.gravitationalbattle.GravitationalBattle;
+import com.br.gravitationalbattle.utils.MessageUtil;
+
+/**
+ * Devolve os jogadores de uma partida encerrada ao lobby, alguns por vez.
+ * <p>
+ * Todo jogador passa pelas mesmas etapas, em ordem: reset (modo de jogo, inventário, vida),
+ * teleporte, scoreboard do lobby e item da loja. As recompensas já foram liquidadas num só
+ * lote quando a partida acabou. A cada tick, cada etapa atende no máximo perTick jogadores,
+ * então a etapa n trabalha no lote que a etapa n - 1 atendeu no tick anterior, e o custo de
+ * encerrar uma partida fica distribuído entre ticks, seja qual for o tamanho da arena.
+ * Conduzido pelo relógio do GameManager.
+ */
+public class LobbyReturn {
+
+    private static final int RESET = 0;
+    private static final int TELEPORT = 1;
+    private static final int SCOREBOARD = 2;
+    private static final int SHOP = 3;
+    private static final int STAGES = 4;
+
+    private final GravitationalBattle plugin;
+    private final Game game;
+    private final Location destination;
+    private final Set<UUID> spectators;
+    private final Runnable onDone;
+
+    // Jogadores aguardando cada etapa
+    private final Deque<UUID>[] stages;
+
+    @SuppressWarnings("unchecked")
+    LobbyReturn(GravitationalBattle plugin, Game game, Collection<UUID> players, Set<UUID> spectators,
+                Location destination, Runnable onDone) {
+        this.plugin = plugin;
+        this.game = game;
+        this.destination = destination;
+        this.spectators = spectators;
+        this.onDone = onDone;
+        this.stages = new Deque[STAGES];
+        for (int stage = 0; stage < STAGES; stage++) {
+            stages[stage] = new ArrayDeque<>();
+        }
+        stages[RESET].addAll(players);
+    }
+
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * Executa um tick do pipeline
+     *
+     * @param perTick Jogadores que cada etapa atende neste tick
+     * @return true quando todos os jogadores tiverem passado por todas as etapas
+     */
+    public boolean advance(int perTick) {
+        // Última etapa primeiro, para que um jogador avance no máximo uma etapa por tick
+        for (int stage = STAGES - 1; stage >= 0; stage--) {
+            Deque<UUID> queue = stages[stage];
+            for (int handled = 0; handled < perTick && !queue.isEmpty(); handled++) {
+                UUID uuid = queue.poll();
+                Player player = Bukkit.getPlayer(uuid);
+                if (player == null || !player.isOnline()) {
+                    // Saiu no meio do caminho: não há mais nada a fazer por ele
+                    continue;
+                }
+
+                run(stage, player);
+                if (stage + 1 < STAGES) {
+                    stages[stage + 1].add(uuid);
+                }
+            }
+        }
+
+        for (Deque<UUID> queue : stages) {
+            if (!queue.isEmpty()) {
+                return false;
+            }
+        }
+
+        onDone.run();
+        return true;
+    }
+
+    /**
+     * Executa agora todas as etapas restantes (quando o plugin está sendo desativado)
+     */
+    public void finish() {
+        while (!advance(Integer.MAX_VALUE)) {
+            // Cada chamada avança todos os jogadores uma etapa
+        }
+    }
+
+    private void run(int stage, Player player) {
+        switch (stage) {
+            case RESET:
+                game.resetPlayerState(player);
+                break;
+            case TELEPORT:
+                plugin.getTeleportManager().teleport(player, destination);
+                break;
+            case SCOREBOARD:
+                plugin.getScoreboardManager().setLobbyScoreboard(player);
+                break;
+            default:
+                if (spectators.contains(player.getUniqueId())) {
+                    MessageUtil.sendMessage(player, "&aVocê foi retornado ao lobby.");
+                }
+                plugin.giveShopEmerald(player);
+                break;
+        }
+    }
+}
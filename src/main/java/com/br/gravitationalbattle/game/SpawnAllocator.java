@@ -0,0 +1,328 @@
+package com.br.gravitationalbattle.game;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+
+import com.br.gravitationalbattle.GravitationalBattle;
+
+/**
+ * Distribui os pontos de spawn de uma arena entre os jogadores de um jogo.
+ * <p>
+ * Os spawns são validados uma vez, em segundo plano, a partir de cópias dos chunks:
+ * um spawn precisa de chão sólido e de dois blocos livres para o jogador; se o ponto
+ * exato não servir, o mais próximo na mesma coluna (até {@value #SEARCH_RANGE} blocos) é usado.
+ * O resultado fica em cache até os spawns da arena mudarem, então a entrada de um jogador
+ * não consulta nenhum bloco. Cada jogador recebe um spawn livre, em rodízio ou o mais
+ * distante dos já ocupados; só quando todos estão ocupados um spawn é repetido.
+ */
+public class SpawnAllocator {
+
+    public enum Strategy {
+        ROUND_ROBIN,
+        MAX_DISTANCE;
+
+        /**
+         * Obtém a estratégia pelo nome usado na configuração
+         *
+         * @param name round-robin ou max-distance
+         * @return A estratégia, ou MAX_DISTANCE se o nome for desconhecido
+         */
+        public static Strategy fromName(String name) {
+            return "round-robin".equalsIgnoreCase(name) ? ROUND_ROBIN : MAX_DISTANCE;
+        }
+    }
+
+    // Distância máxima, para cima ou para baixo, em que um spawn inválido é corrigido
+    private static final int SEARCH_RANGE = 4;
+
+    private final Arena arena;
+
+    // Spawns validados; null enquanto a validação não terminou
+    private List<SpawnPoint> spawns;
+    private boolean validating;
+
+    // Incrementado quando os spawns da arena mudam, para descartar validações antigas
+    private int version;
+
+    private final Map<UUID, SpawnPoint> assigned;
+    private int cursor;
+
+    SpawnAllocator(Arena arena) {
+        this.arena = arena;
+        this.assigned = new HashMap<>();
+    }
+
+    /**
+     * Valida os spawns em segundo plano, se ainda não estiverem em cache.
+     * Os chunks são copiados quando estiverem carregados, sem carregá-los no meio do tick.
+     *
+     * @param plugin O plugin
+     */
+    public void prepare(final GravitationalBattle plugin) {
+        if (spawns != null || validating) {
+            return;
+        }
+
+        final World world = Bukkit.getWorld(arena.getWorldUUID());
+        if (world == null) {
+            return;
+        }
+
+        // Só os spawns do mundo da arena são validados (e usados) com as cópias deste mundo
+        final List<Location> points = new ArrayList<>();
+        for (Location point : arena.getSpawnPoints()) {
+            if (world.equals(point.getWorld())) {
+                points.add(point);
+            }
+        }
+        if (points.isEmpty()) {
+            return;
+        }
+
+        validating = true;
+        final int validatingVersion = version;
+
+        // Uma cópia por chunk, mesmo com vários spawns nele
+        final Map<Long, ChunkSnapshot> snapshots = new HashMap<>();
+        final Map<Long, Location> chunks = new LinkedHashMap<>();
+        for (Location point : points) {
+            chunks.putIfAbsent(chunkKey(point), point);
+        }
+
+        final int[] remaining = {chunks.size()};
+        for (final Map.Entry<Long, Location> entry : chunks.entrySet()) {
+            plugin.getChunkWarmupManager().whenLoaded(entry.getValue(), () -> {
+                Location point = entry.getValue();
+                snapshots.put(entry.getKey(), world.getChunkAt(point.getBlockX() >> 4, point.getBlockZ() >> 4)
+                        .getChunkSnapshot(false, false, false));
+
+                if (--remaining[0] == 0 && plugin.isEnabled()) {
+                    Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+                        List<SpawnPoint> validated = validate(points, snapshots, world.getMaxHeight());
+                        Bukkit.getScheduler().runTask(plugin, () -> publish(plugin, validated, validatingVersion));
+                    });
+                }
+            });
+        }
+    }
+
+    /**
+     * Reserva um spawn para um jogador
+     *
+     * @param player O jogador
+     * @param strategy Como escolher entre os spawns livres
+     * @return O spawn, ou null se a arena não tiver spawns
+     */
+    public Location allocate(UUID player, Strategy strategy) {
+        release(player);
+
+        // Enquanto a validação não termina, os spawns configurados são usados como estão
+        List<SpawnPoint> candidates = spawns;
+        if (candidates == null) {
+            candidates = new ArrayList<>();
+            for (Location point : arena.getSpawnPoints()) {
+                candidates.add(new SpawnPoint(point));
+            }
+        }
+        if (candidates.isEmpty()) {
+            return null;
+        }
+
+        List<SpawnPoint> free = new ArrayList<>();
+        List<SpawnPoint> used = new ArrayList<>();
+        for (SpawnPoint spawn : candidates) {
+            if (isTaken(spawn)) {
+                used.add(spawn);
+            } else {
+                free.add(spawn);
+            }
+        }
+
+        SpawnPoint chosen;
+        if (free.isEmpty()) {
+            // Mais jogadores que spawns: repetir em rodízio
+            chosen = candidates.get(cursor++ % candidates.size());
+        } else if (strategy == Strategy.ROUND_ROBIN || used.isEmpty()) {
+            chosen = free.get(cursor++ % free.size());
+        } else {
+            chosen = farthestFrom(free, used);
+        }
+
+        chosen.setInUse(true);
+        assigned.put(player, chosen);
+        return chosen.getLocation();
+    }
+
+    /**
+     * Libera o spawn de um jogador que saiu do jogo
+     *
+     * @param player O jogador
+     */
+    public void release(UUID player) {
+        SpawnPoint spawn = assigned.remove(player);
+        if (spawn != null && !assigned.containsValue(spawn)) {
+            spawn.reset();
+        }
+    }
+
+    /**
+     * Libera todos os spawns (um novo jogo vai começar na arena)
+     */
+    public void reset() {
+        for (SpawnPoint spawn : assigned.values()) {
+            spawn.reset();
+        }
+        assigned.clear();
+        cursor = 0;
+    }
+
+    /**
+     * Descarta a validação em cache (os spawns da arena mudaram)
+     */
+    public void invalidate() {
+        reset();
+        spawns = null;
+        validating = false;
+        version++;
+    }
+
+    private boolean isTaken(SpawnPoint spawn) {
+        // Os spawns provisórios são objetos novos a cada chamada: comparar pela localização
+        if (spawn.isInUse()) {
+            return true;
+        }
+        for (SpawnPoint taken : assigned.values()) {
+            if (taken.getLocation().equals(spawn.getLocation())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void publish(GravitationalBattle plugin, List<SpawnPoint> validated, int validatedVersion) {
+        if (validatedVersion != version) {
+            // Os spawns mudaram durante a validação
+            return;
+        }
+        validating = false;
+
+        int dropped = arena.getSpawnPointCount() - validated.size();
+        if (validated.isEmpty()) {
+            plugin.getLogger().warning("Nenhum spawn seguro na arena " + arena.getName() + ", usando os spawns como estão.");
+            for (Location point : arena.getSpawnPoints()) {
+                validated.add(new SpawnPoint(point));
+            }
+        } else if (dropped > 0) {
+            plugin.getLogger().warning(dropped + " spawn(s) sem chão ou sem espaço ignorado(s) na arena " + arena.getName());
+        }
+
+        // Jogadores já posicionados continuam onde estão; só as próximas entradas usam o cache
+        spawns = validated;
+        for (Map.Entry<UUID, SpawnPoint> entry : assigned.entrySet()) {
+            Location current = entry.getValue().getLocation();
+            for (SpawnPoint spawn : validated) {
+                Location location = spawn.getLocation();
+                if (sameWorld(location, current) && location.distanceSquared(current) <= SEARCH_RANGE * SEARCH_RANGE) {
+                    spawn.setInUse(true);
+                    entry.setValue(spawn);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Valida os spawns a partir das cópias dos chunks; não toca no mundo, então roda fora da thread principal
+     */
+    private static List<SpawnPoint> validate(List<Location> points, Map<Long, ChunkSnapshot> snapshots, int maxHeight) {
+        List<SpawnPoint> validated = new ArrayList<>();
+        for (Location point : points) {
+            ChunkSnapshot snapshot = snapshots.get(chunkKey(point));
+            if (snapshot == null) continue;
+
+            int x = point.getBlockX() & 15;
+            int z = point.getBlockZ() & 15;
+            int y = point.getBlockY();
+
+            // Ponto exato primeiro, depois alternando acima e abaixo
+            for (int offset = 0; offset <= SEARCH_RANGE * 2; offset++) {
+                int candidate = y + ((offset & 1) == 0 ? offset / 2 : -(offset + 1) / 2);
+                if (isSafe(snapshot, x, candidate, z, maxHeight)) {
+                    Location safe = point.clone();
+                    safe.setY(candidate + (point.getY() - point.getBlockY()));
+                    validated.add(new SpawnPoint(safe));
+                    break;
+                }
+            }
+        }
+        return validated;
+    }
+
+    private static boolean isSafe(ChunkSnapshot snapshot, int x, int y, int z, int maxHeight) {
+        if (y < 1 || y + 1 >= maxHeight) {
+            return false;
+        }
+
+        Material floor = snapshot.getBlockType(x, y - 1, z);
+        Material feet = snapshot.getBlockType(x, y, z);
+        Material head = snapshot.getBlockType(x, y + 1, z);
+        return floor.isSolid() && !isHazard(floor)
+                && !feet.isSolid() && !isHazard(feet)
+                && !head.isSolid() && !isHazard(head);
+    }
+
+    private static boolean isHazard(Material material) {
+        switch (material) {
+            case LAVA:
+            case FIRE:
+            case SOUL_FIRE:
+            case MAGMA_BLOCK:
+            case CACTUS:
+            case SWEET_BERRY_BUSH:
+            case WITHER_ROSE:
+            case CAMPFIRE:
+            case SOUL_CAMPFIRE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static SpawnPoint farthestFrom(List<SpawnPoint> free, List<SpawnPoint> used) {
+        SpawnPoint best = free.get(0);
+        double bestDistance = -1;
+        for (SpawnPoint candidate : free) {
+            Location location = candidate.getLocation();
+            double nearest = Double.MAX_VALUE;
+            for (SpawnPoint taken : used) {
+                Location other = taken.getLocation();
+                if (sameWorld(location, other)) {
+                    nearest = Math.min(nearest, location.distanceSquared(other));
+                }
+            }
+            if (nearest > bestDistance) {
+                bestDistance = nearest;
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    private static boolean sameWorld(Location a, Location b) {
+        return a.getWorld() != null && a.getWorld().equals(b.getWorld());
+    }
+
+    private static long chunkKey(Location location) {
+        return ((long) (location.getBlockX() >> 4) << 32) | ((location.getBlockZ() >> 4) & 0xFFFFFFFFL);
+    }
+}
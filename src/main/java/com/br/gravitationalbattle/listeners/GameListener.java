@@ -1,6 +1,7 @@
 package com.br.gravitationalbattle.listeners;
 
-import org.bukkit.entity.Entity;
+import org.bukkit.ChatColor;
+import org.bukkit.GameMode;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -16,10 +17,13 @@ import org.bukkit.event.player.PlayerQuitEvent;
 
 import com.br.gravitationalbattle.GravitationalBattle;
 import com.br.gravitationalbattle.game.Game;
+import com.br.gravitationalbattle.game.GameState;
 import com.br.gravitationalbattle.utils.MessageUtil;
 
 /**
- * Listener for game-related events
+ * Single entry point for game-related events.
+ * Each handler resolves the player's game once and dispatches on the game phase;
+ * PlayerListener only handles lobby concerns (join, hotbar items).
  */
 public class GameListener implements Listener {
 
@@ -33,38 +37,71 @@ public class GameListener implements Listener {
     public void onPlayerDeath(PlayerDeathEvent event) {
         Player player = event.getEntity();
         Game game = plugin.getGameManager().getPlayerGame(player);
+        if (game == null) return;
+
+        // Cancel death message and drops
+        event.setDeathMessage(null);
+        event.getDrops().clear();
+
+        // Credit the killer before the death is processed, so a final kill
+        // still counts towards the rewards computed when the game ends
+        Player killer = player.getKiller();
+        if (killer != null && killer != player) {
+            plugin.getStatsManager().addKill(killer);
+            game.recordKill(killer);
+        }
 
-        if (game != null) {
-            // Cancel death message
-            event.setDeathMessage(null);
+        // Update death stats
+        plugin.getStatsManager().addDeath(player);
 
-            // Mark player as dead in the game
-            game.playerDied(player);
+        // Mark player as dead in the game
+        game.playerDied(player);
 
-            // Update killer's stats if applicable
-            Player killer = player.getKiller();
-            if (killer != null) {
-                plugin.getStatsManager().addKill(killer);
-                game.recordKill(killer);
+        // Respawn player immediately (workaround for 1.8.8)
+        plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+            if (player.isOnline()) {
+                player.setHealth(20.0);
             }
+        }, 1L);
+    }
 
-            // Update death stats
-            plugin.getStatsManager().addDeath(player);
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        Player player = event.getPlayer();
+
+        // Remove player from any game they're in
+        if (plugin.getGameManager().isPlayerInGame(player)) {
+            plugin.getGameManager().leaveGame(player);
         }
+
+        // Clean up scoreboard
+        plugin.getScoreboardManager().removePlayer(player);
+
+        // Forget the last tab header/footer sent
+        if (plugin.getTabManager() != null) {
+            plugin.getTabManager().removePlayer(player);
+        }
+
+        // Move the player's data to the offline cache
+        plugin.getPlayerDataManager().unpin(player);
     }
 
-    @EventHandler
+    @EventHandler(priority = EventPriority.HIGH)
     public void onEntityDamage(EntityDamageEvent event) {
         if (!(event.getEntity() instanceof Player)) return;
 
         Player player = (Player) event.getEntity();
         Game game = plugin.getGameManager().getPlayerGame(player);
 
-        if (game != null) {
-            // Only allow damage if game is in progress
-            if (game.getState() != com.br.gravitationalbattle.game.GameState.INGAME) {
-                event.setCancelled(true);
-            }
+        // No damage in the lobby or outside the fighting phase
+        if (game == null || game.getState() != GameState.INGAME) {
+            event.setCancelled(true);
+            return;
+        }
+
+        // Spectators can't be hurt
+        if (game.isSpectator(player)) {
+            event.setCancelled(true);
         }
     }
 
@@ -78,77 +115,82 @@ public class GameListener implements Listener {
             return;
         }
 
-        // Handle player damage
-        if (event.getDamager() instanceof Player && event.getEntity() instanceof Player) {
-            Player damager = (Player) event.getDamager();
-            Player target = (Player) event.getEntity();
+        if (!(event.getDamager() instanceof Player)) return;
+
+        Player damager = (Player) event.getDamager();
+        Player victim = (Player) event.getEntity();
+
+        Game game = plugin.getGameManager().getPlayerGame(damager);
 
-            Game damagerGame = plugin.getGameManager().getPlayerGame(damager);
-            Game targetGame = plugin.getGameManager().getPlayerGame(target);
+        // PvP only between players of the same game while it is in progress
+        if (game == null || game.getState() != GameState.INGAME || !game.hasPlayer(victim)) {
+            event.setCancelled(true);
+            return;
+        }
+
+        // If team mode, check if same team
+        if (game.getGameMode().isTeamBased()) {
+            com.br.gravitationalbattle.game.Team damagerTeam = game.getPlayerTeam(damager);
+            com.br.gravitationalbattle.game.Team victimTeam = game.getPlayerTeam(victim);
 
-            // If both in same game and game is in progress, allow PVP
-            if (damagerGame != null && damagerGame == targetGame &&
-                    damagerGame.getState() == com.br.gravitationalbattle.game.GameState.INGAME) {
-                // Allow damage - PvP is enabled
-            } else {
-                // Cancel damage
+            if (damagerTeam != null && damagerTeam == victimTeam) {
                 event.setCancelled(true);
+                MessageUtil.sendMessage(damager, "&cVocê não pode atacar membros da sua equipe!");
             }
         }
     }
 
     @EventHandler
     public void onBlockBreak(BlockBreakEvent event) {
-        Player player = event.getPlayer();
-        if (plugin.getGameManager().isPlayerInGame(player)) {
-            // Prevent block breaking in games
+        if (isBlockChangeDenied(event.getPlayer())) {
             event.setCancelled(true);
         }
     }
 
     @EventHandler
     public void onBlockPlace(BlockPlaceEvent event) {
-        Player player = event.getPlayer();
-        if (plugin.getGameManager().isPlayerInGame(player)) {
-            // Prevent block placing in games
+        if (isBlockChangeDenied(event.getPlayer())) {
             event.setCancelled(true);
         }
     }
 
-    @EventHandler
-    public void onPlayerQuit(PlayerQuitEvent event) {
-        Player player = event.getPlayer();
-
-        // Remove player from any game they're in
-        if (plugin.getGameManager().isPlayerInGame(player)) {
-            plugin.getGameManager().leaveGame(player);
+    /**
+     * Players in a game can't change blocks, unless they are admins in creative mode
+     */
+    private boolean isBlockChangeDenied(Player player) {
+        if (!plugin.getGameManager().isPlayerInGame(player)) {
+            return false;
         }
 
-        // Clean up scoreboard
-        plugin.getScoreboardManager().removePlayer(player);
+        return !(player.hasPermission("gravitationalbattle.admin") && player.getGameMode() == GameMode.CREATIVE);
     }
 
     @EventHandler
     public void onPlayerMove(PlayerMoveEvent event) {
         Player player = event.getPlayer();
         Game game = plugin.getGameManager().getPlayerGame(player);
+        if (game == null) return;
 
-        if (game != null) {
-            // Check if player fell out of the world
-            if (event.getTo().getY() < 0) {
-                player.damage(1000.0); // Kill player
-                MessageUtil.broadcastMessage("&c" + player.getName() + " &7fell out of the world!");
-            }
-
-            // Only restrict movement in waiting/starting states
-            if ((game.getState() == com.br.gravitationalbattle.game.GameState.WAITING ||
-                    game.getState() == com.br.gravitationalbattle.game.GameState.STARTING) &&
-                    (event.getFrom().getBlockX() != event.getTo().getBlockX() ||
-                            event.getFrom().getBlockZ() != event.getTo().getBlockZ())) {
-
+        switch (game.getState()) {
+            case WAITING:
+            case STARTING:
                 // Cancel horizontal movement in pre-game
-                event.setTo(event.getFrom());
-            }
+                if (event.getFrom().getBlockX() != event.getTo().getBlockX() ||
+                        event.getFrom().getBlockZ() != event.getTo().getBlockZ()) {
+                    event.setTo(event.getFrom());
+                }
+                break;
+
+            case INGAME:
+                // Check if player fell out of the world
+                if (event.getTo().getY() < 0 && !game.isSpectator(player)) {
+                    player.damage(1000.0); // Kill player
+                    game.broadcastMessage("&c" + player.getName() + " &7fell out of the world!");
+                }
+                break;
+
+            default:
+                break;
         }
     }
 
@@ -156,20 +198,22 @@ public class GameListener implements Listener {
     public void onPlayerChat(AsyncPlayerChatEvent event) {
         Player player = event.getPlayer();
         Game game = plugin.getGameManager().getPlayerGame(player);
-
-        if (game != null) {
-            // Cancel the regular chat event
-            event.setCancelled(true);
-
-            try {
-                // Use game-specific chat
-                plugin.getGameManager().sendGameChatMessage(game, player, event.getMessage());
-            } catch (Exception e) {
-                plugin.getLogger().severe("Error processing game chat: " + e.getMessage());
-                e.printStackTrace();
-                // Send a message to the player that their chat message failed
-                MessageUtil.sendMessage(player, "&cError sending chat message. Please try again!");
-            }
+        if (game == null) return;
+
+        // Cancel the regular chat event, the message only goes to the game
+        event.setCancelled(true);
+
+        try {
+            String playerName = (game.isSpectator(player) ?
+                    ChatColor.GRAY + "[Spectator] " : "") +
+                    player.getDisplayName();
+
+            game.broadcastMessage(ChatColor.GOLD + "[Game] " + playerName + ChatColor.WHITE + ": " + event.getMessage());
+        } catch (Exception e) {
+            plugin.getLogger().severe("Error processing game chat: " + e.getMessage());
+            e.printStackTrace();
+            // Send a message to the player that their chat message failed
+            MessageUtil.sendMessage(player, "&cError sending chat message. Please try again!");
         }
     }
 }
\ No newline at end of file
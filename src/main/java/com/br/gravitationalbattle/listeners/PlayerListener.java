@@ -1,20 +1,15 @@
 package com.br.gravitationalbattle.listeners;
 
-import org.bukkit.GameMode;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
-import org.bukkit.event.block.BlockBreakEvent;
-import org.bukkit.event.block.BlockPlaceEvent;
-import org.bukkit.event.entity.EntityDamageByEntityEvent;
-import org.bukkit.event.entity.EntityDamageEvent;
-import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
-import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
 import org.bukkit.inventory.ItemStack;
 
 import com.br.gravitationalbattle.GravitationalBattle;
@@ -22,6 +17,10 @@ import com.br.gravitationalbattle.commands.AbrirLojaCommand;
 import com.br.gravitationalbattle.game.Game;
 import com.br.gravitationalbattle.utils.MessageUtil;
 
+/**
+ * Lobby-side player events (join, hotbar items).
+ * Everything that depends on the player's game is routed by GameListener.
+ */
 public class PlayerListener implements Listener {
 
     private final GravitationalBattle plugin;
@@ -30,10 +29,31 @@ public class PlayerListener implements Listener {
         this.plugin = plugin;
     }
 
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+
+        // Runs off the main thread, so the storage read doesn't hold up the server
+        plugin.getPlayerDataManager().preload(event.getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerLogin(PlayerLoginEvent event) {
+        // Refused after the pre-login (whitelist, full server...): the preloaded data goes to the LRU
+        if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+            plugin.getPlayerDataManager().discardPreload(event.getPlayer().getUniqueId());
+        }
+    }
+
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
 
+        // Keep the player's data cached while they're online
+        plugin.getPlayerDataManager().pin(player);
+
         // Set up scoreboard for the player
         plugin.getScoreboardManager().setLobbyScoreboard(player);
 
@@ -48,149 +68,6 @@ public class PlayerListener implements Listener {
         plugin.giveShopEmerald(player);
     }
 
-    @EventHandler
-    public void onPlayerQuit(PlayerQuitEvent event) {
-        Player player = event.getPlayer();
-
-        // Check if player is in a game
-        if (plugin.getGameManager().isPlayerInGame(player)) {
-            // Remove from game
-            plugin.getGameManager().leaveGame(player);
-        }
-
-        // Remove scoreboard data
-        plugin.getScoreboardManager().removePlayer(player);
-    }
-
-    @EventHandler
-    public void onPlayerDeath(PlayerDeathEvent event) {
-        Player player = event.getEntity();
-
-        // Check if death was in a game
-        Game game = plugin.getGameManager().getPlayerGame(player);
-        if (game != null) {
-            // Cancel death message
-            event.setDeathMessage(null);
-
-            // Remove drops
-            event.getDrops().clear();
-
-            // Mark player as dead in game
-            game.playerDied(player);
-
-            // Record kill for killer if any
-            Player killer = player.getKiller();
-            if (killer != null) {
-                game.recordKill(killer);
-            }
-
-            // Respawn player immediately (workaround for 1.8.8)
-            plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
-                player.setHealth(20.0);
-                // Any additional respawn handling
-            }, 1L);
-        }
-    }
-
-    @EventHandler(priority = EventPriority.HIGH)
-    public void onPlayerDamage(EntityDamageEvent event) {
-        if (!(event.getEntity() instanceof Player)) {
-            return;
-        }
-
-        Player player = (Player) event.getEntity();
-        Game game = plugin.getGameManager().getPlayerGame(player);
-
-        // Cancel damage in lobby
-        if (game == null) {
-            event.setCancelled(true);
-            return;
-        }
-
-        // Allow damage only in INGAME state
-        if (game.getState() != com.br.gravitationalbattle.game.GameState.INGAME) {
-            event.setCancelled(true);
-            return;
-        }
-
-        // If player is a spectator, cancel damage
-        if (game.isSpectator(player)) {
-            event.setCancelled(true);
-            return;
-        }
-    }
-
-    @EventHandler
-    public void onPlayerCombat(EntityDamageByEntityEvent event) {
-        if (!(event.getDamager() instanceof Player) || !(event.getEntity() instanceof Player)) {
-            return;
-        }
-
-        Player damager = (Player) event.getDamager();
-        Player victim = (Player) event.getEntity();
-
-        // Check if both players are in same game
-        Game damagerGame = plugin.getGameManager().getPlayerGame(damager);
-        Game victimGame = plugin.getGameManager().getPlayerGame(victim);
-
-        if (damagerGame != null && victimGame != null && damagerGame == victimGame) {
-            // If team mode, check if same team
-            if (damagerGame.getGameMode().isTeamBased()) {
-                com.br.gravitationalbattle.game.Team damagerTeam = damagerGame.getPlayerTeam(damager);
-                com.br.gravitationalbattle.game.Team victimTeam = damagerGame.getPlayerTeam(victim);
-
-                // Cancel damage if on same team
-                if (damagerTeam != null && victimTeam != null && damagerTeam == victimTeam) {
-                    event.setCancelled(true);
-                    MessageUtil.sendMessage(damager, "&cVocê não pode atacar membros da sua equipe!");
-                    return;
-                }
-            }
-
-            // Let damage pass through if in INGAME state
-            if (damagerGame.getState() == com.br.gravitationalbattle.game.GameState.INGAME) {
-                return;
-            }
-        }
-
-        // Cancel all other player combat
-        event.setCancelled(true);
-    }
-
-    @EventHandler
-    public void onBlockBreak(BlockBreakEvent event) {
-        Player player = event.getPlayer();
-
-        // Allow breaking if admin with creative mode
-        if (player.hasPermission("gravitationalbattle.admin") && player.getGameMode() == GameMode.CREATIVE) {
-            return;
-        }
-
-        // Check if player is in a game
-        Game game = plugin.getGameManager().getPlayerGame(player);
-        if (game != null) {
-            // Cancel block breaking in game
-            event.setCancelled(true);
-        }
-    }
-
-    @EventHandler
-    public void onBlockPlace(BlockPlaceEvent event) {
-        Player player = event.getPlayer();
-
-        // Allow placement if admin with creative mode
-        if (player.hasPermission("gravitationalbattle.admin") && player.getGameMode() == GameMode.CREATIVE) {
-            return;
-        }
-
-        // Check if player is in a game
-        Game game = plugin.getGameManager().getPlayerGame(player);
-        if (game != null) {
-            // Cancel block placement in game
-            event.setCancelled(true);
-        }
-    }
-
     @EventHandler
     public void onPlayerInteract(PlayerInteractEvent event) {
         Player player = event.getPlayer();
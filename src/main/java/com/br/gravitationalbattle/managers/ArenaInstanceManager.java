@@ -0,0 +1,374 @@
+package com.br.gravitationalbattle.managers;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.WorldCreator;
+import org.bukkit.entity.Player;
+
+import com.br.gravitationalbattle.GravitationalBattle;
+import com.br.gravitationalbattle.game.Arena;
+import com.br.gravitationalbattle.game.Game;
+
+/**
+ * Gerencia as instâncias das arenas: cópias do mundo de uma arena (o modelo), cada uma
+ * com seu próprio jogo, para que várias partidas rodem ao mesmo tempo no mesmo mapa.
+ * <p>
+ * Um pool mantém arena-instances.pool-size instâncias prontas por arena, criadas antes
+ * de serem pedidas: a pasta do mundo é copiada fora da thread principal e só o
+ * carregamento do mundo acontece nela, uma instância por vez. Enquanto a pasta é copiada,
+ * o salvamento automático do mundo modelo fica desligado, para que nenhum arquivo seja
+ * regravado no meio da cópia. Ao fim da partida a instância é descartada sem salvar e uma
+ * cópia limpa toma o seu lugar.
+ * <p>
+ * As instâncias são criadas com o WorldCreator do Bukkit, não pelo Multiverse: o
+ * MVWorldManager registra cada mundo no worlds.yml (e o reimporta ao reiniciar), o que não
+ * serve para mundos descartáveis, e o cloneWorld dele copia a pasta na thread principal.
+ */
+public class ArenaInstanceManager {
+
+    // Prefixo das pastas de mundo das instâncias (as que sobrarem são apagadas ao iniciar)
+    private static final String WORLD_PREFIX = "gbi_";
+
+    private final GravitationalBattle plugin;
+
+    // Instâncias prontas, por arena
+    private final Map<String, Deque<Arena>> ready;
+
+    // Instâncias existentes ou sendo criadas, por arena
+    private final Map<String, Integer> instanceCounts;
+
+    // Arenas esperando a criação de uma instância, em ordem
+    private final Deque<Arena> creationQueue;
+    private boolean creating;
+    private int nextId;
+
+    // Mundo modelo sendo copiado agora, e se ele salvava automaticamente antes da cópia
+    private World copying;
+    private boolean copyingAutoSave;
+
+    public ArenaInstanceManager(GravitationalBattle plugin) {
+        this.plugin = plugin;
+        this.ready = new HashMap<>();
+        this.instanceCounts = new HashMap<>();
+        this.creationQueue = new ArrayDeque<>();
+
+        deleteLeftoverWorlds();
+    }
+
+    /**
+     * Verifica se as arenas usam instâncias
+     *
+     * @return true se arena-instances.enabled estiver ativo
+     */
+    public boolean isEnabled() {
+        return plugin.getConfigManager().isArenaInstancingEnabled();
+    }
+
+    /**
+     * Enche o pool de todas as arenas (chamado depois de carregar as arenas)
+     */
+    public void warmUp() {
+        if (!isEnabled()) {
+            return;
+        }
+
+        for (Arena arena : plugin.getArenaManager().getAllArenas()) {
+            topUp(arena);
+        }
+    }
+
+    /**
+     * Pega uma instância pronta de uma arena
+     *
+     * @param template A arena
+     * @return A instância, ou null se nenhuma estiver pronta ainda
+     */
+    public Arena acquire(Arena template) {
+        Deque<Arena> instances = ready.get(key(template));
+        Arena instance = instances != null ? instances.poll() : null;
+
+        // Repor a que saiu (ou criar a primeira, se o pool ainda estava vazio)
+        topUp(template);
+        return instance;
+    }
+
+    /**
+     * Descarta uma instância cujo jogo terminou e repõe o pool
+     *
+     * @param instance A instância
+     */
+    public void release(Arena instance) {
+        if (!instance.isInstance()) {
+            return;
+        }
+
+        Arena template = instance.getTemplate();
+        instanceCounts.merge(key(template), -1, Integer::sum);
+
+        World world = Bukkit.getWorld(instance.getWorldUUID());
+        if (world != null) {
+            final File folder = world.getWorldFolder();
+            if (!unload(world)) {
+                plugin.getLogger().warning("Não foi possível descarregar a instância " + world.getName());
+            } else if (plugin.isEnabled()) {
+                Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> deleteFolder(folder));
+            } else {
+                // Plugin sendo desativado: sem tarefas, apagar agora
+                deleteFolder(folder);
+            }
+        }
+
+        topUp(template);
+    }
+
+    /**
+     * Obtém quantas instâncias estão prontas para uma arena
+     *
+     * @param template A arena
+     * @return Instâncias prontas
+     */
+    public int getReadyCount(Arena template) {
+        Deque<Arena> instances = ready.get(key(template));
+        return instances != null ? instances.size() : 0;
+    }
+
+    /**
+     * Descarta todas as instâncias (ao desativar o plugin)
+     */
+    public void shutdown() {
+        creationQueue.clear();
+        resumeAutoSave();
+
+        List<Arena> instances = new ArrayList<>();
+        for (Deque<Arena> readyInstances : ready.values()) {
+            instances.addAll(readyInstances);
+        }
+        for (Game game : plugin.getArenaManager().getAllGames()) {
+            if (game.getArena().isInstance()) {
+                instances.add(game.getArena());
+            }
+        }
+
+        for (Arena instance : instances) {
+            World world = Bukkit.getWorld(instance.getWorldUUID());
+            if (world != null) {
+                File folder = world.getWorldFolder();
+                if (unload(world)) {
+                    deleteFolder(folder);
+                }
+            }
+        }
+        ready.clear();
+    }
+
+    /**
+     * Devolve ao mundo modelo o salvamento automático desligado durante a cópia
+     */
+    private void resumeAutoSave() {
+        if (copying != null) {
+            copying.setAutoSave(copyingAutoSave);
+            copying = null;
+        }
+    }
+
+    /**
+     * Tira quem ainda estiver no mundo da instância e o descarrega sem salvar
+     */
+    private boolean unload(World world) {
+        World fallback = Bukkit.getWorlds().get(0);
+        Location lobby = plugin.getConfigManager().getLobbyLocation();
+        Location destination = lobby != null && lobby.getWorld() != null && !lobby.getWorld().equals(world)
+                ? lobby : fallback.getSpawnLocation();
+
+        for (Player player : world.getPlayers()) {
+            player.teleport(destination);
+        }
+
+        return Bukkit.unloadWorld(world, false);
+    }
+
+    /**
+     * Agenda instâncias até a arena ter o pool cheio, respeitando o máximo por arena
+     */
+    private void topUp(Arena template) {
+        if (!isEnabled() || !plugin.isEnabled()) {
+            return;
+        }
+
+        String key = key(template);
+        int poolSize = plugin.getConfigManager().getArenaInstancePoolSize();
+        int maxInstances = plugin.getConfigManager().getMaxArenaInstances();
+
+        int queued = 0;
+        for (Arena waiting : creationQueue) {
+            if (waiting == template) {
+                queued++;
+            }
+        }
+
+        while (getReadyCount(template) + queued < poolSize && instanceCounts.getOrDefault(key, 0) < maxInstances) {
+            instanceCounts.merge(key, 1, Integer::sum);
+            creationQueue.add(template);
+            queued++;
+        }
+
+        createNext();
+    }
+
+    /**
+     * Cria a próxima instância da fila: copia a pasta em segundo plano e carrega o mundo na thread principal
+     */
+    private void createNext() {
+        if (creating || creationQueue.isEmpty()) {
+            return;
+        }
+
+        final Arena template = creationQueue.poll();
+        final World templateWorld = Bukkit.getWorld(template.getWorldUUID());
+        if (templateWorld == null) {
+            instanceCounts.merge(key(template), -1, Integer::sum);
+            plugin.getLogger().warning("Mundo não encontrado para a arena " + template.getName() + ", instância não criada.");
+            createNext();
+            return;
+        }
+
+        creating = true;
+
+        // Tudo o que mudou vai para o disco agora; nada é regravado até a cópia terminar
+        copying = templateWorld;
+        copyingAutoSave = templateWorld.isAutoSave();
+        templateWorld.setAutoSave(false);
+        templateWorld.save();
+
+        final String worldName = WORLD_PREFIX + template.getName().toLowerCase() + "_" + (nextId++);
+        final File source = templateWorld.getWorldFolder();
+        final File target = new File(Bukkit.getWorldContainer(), worldName);
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            boolean copied;
+            try {
+                copyWorldFolder(source.toPath(), target.toPath());
+                copied = true;
+            } catch (IOException e) {
+                plugin.getLogger().severe("Erro ao copiar o mundo da arena " + template.getName() + ": " + e.getMessage());
+                deleteFolder(target);
+                copied = false;
+            }
+
+            final boolean success = copied;
+            Bukkit.getScheduler().runTask(plugin, () -> finishCreation(template, templateWorld, worldName, success));
+        });
+    }
+
+    private void finishCreation(Arena template, World templateWorld, String worldName, boolean copied) {
+        creating = false;
+        resumeAutoSave();
+
+        World world = null;
+        if (copied && plugin.isEnabled()) {
+            world = new WorldCreator(worldName).copy(templateWorld).createWorld();
+        }
+
+        if (world == null) {
+            instanceCounts.merge(key(template), -1, Integer::sum);
+        } else {
+            // Instâncias são descartáveis: nada é salvo nelas
+            world.setAutoSave(false);
+            world.setKeepSpawnInMemory(false);
+            ready.computeIfAbsent(key(template), k -> new ArrayDeque<>()).add(template.createInstance(world));
+        }
+
+        createNext();
+    }
+
+    /**
+     * Copia a pasta de um mundo, sem os arquivos que identificam o mundo original
+     */
+    private static void copyWorldFolder(final Path source, final Path target) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                String name = dir.getFileName().toString();
+                if (!dir.equals(source) && (name.equals("playerdata") || name.equals("stats") || name.equals("advancements"))) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                Files.createDirectories(target.resolve(source.relativize(dir)));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                String name = file.getFileName().toString();
+                if (!name.equals("uid.dat") && !name.equals("session.lock")) {
+                    Files.copy(file, target.resolve(source.relativize(file)), StandardCopyOption.REPLACE_EXISTING);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Apaga pastas de instâncias que sobraram de uma execução anterior
+     */
+    private void deleteLeftoverWorlds() {
+        File[] folders = Bukkit.getWorldContainer().listFiles();
+        if (folders == null) {
+            return;
+        }
+
+        List<File> leftovers = new ArrayList<>();
+        for (File folder : folders) {
+            if (folder.isDirectory() && folder.getName().startsWith(WORLD_PREFIX) && Bukkit.getWorld(folder.getName()) == null) {
+                leftovers.add(folder);
+            }
+        }
+
+        for (File folder : leftovers) {
+            deleteFolder(folder);
+        }
+    }
+
+    private void deleteFolder(File folder) {
+        if (!folder.exists()) {
+            return;
+        }
+
+        try {
+            Files.walkFileTree(folder.toPath(), new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    Files.delete(file);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                    Files.delete(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            plugin.getLogger().warning("Não foi possível apagar a pasta " + folder.getName() + ": " + e.getMessage());
+        }
+    }
+
+    private static String key(Arena arena) {
+        return arena.getTemplate().getName().toLowerCase();
+    }
+}
@@ -30,8 +30,9 @@ public class ArenaManager {
 
     private final GravitationalBattle plugin;
     private final Map<String, Arena> arenas;
-    private final Map<String, Game> activeGames;
-    private final Map<UUID, String> playerArena;
+    // Jogos ativos por arena (com instâncias, uma arena pode ter vários ao mesmo tempo)
+    private final Map<String, List<Game>> activeGames;
+    private final Map<UUID, Game> playerGames;
     private File arenaFile;
     private FileConfiguration arenaConfig;
 
@@ -39,7 +40,7 @@ public class ArenaManager {
         this.plugin = plugin;
         this.arenas = new HashMap<>();
         this.activeGames = new HashMap<>();
-        this.playerArena = new HashMap<>();
+        this.playerGames = new HashMap<>();
 
         // Configurar arquivo de arenas
         setupArenaFile();
@@ -229,13 +230,8 @@ public class ArenaManager {
             }
         }
 
-        // Salvar arquivo
-        try {
-            arenaConfig.save(arenaFile);
-        } catch (IOException e) {
-            plugin.getLogger().severe("Erro ao salvar arenas.yml: " + e.getMessage());
-            e.printStackTrace();
-        }
+        // Salvar arquivo (gravado em segundo plano, de forma atômica)
+        plugin.getSaveService().save(arenaFile, arenaConfig);
     }
 
     /**
@@ -354,6 +350,7 @@ public class ArenaManager {
 
         // Salvar arenas
         if (removed != null) {
+            plugin.getArenaResetManager().forget(removed.getName());
             saveArenas();
             return true;
         }
@@ -386,9 +383,10 @@ public class ArenaManager {
             return false;
         }
 
-        // Adicionar ponto de spawn
+        // Adicionar ponto de spawn (a região copiada para restaurar a arena muda junto)
         arena.addSpawnPoint(player.getLocation());
         saveArenas();
+        plugin.getArenaResetManager().refresh(arena);
 
         // Enviar mensagem de sucesso
         MessageUtil.sendMessage(player, "&aPonto de spawn adicionado com sucesso! Total: " + arena.getSpawnPointCount());
@@ -447,7 +445,8 @@ public class ArenaManager {
         if (arenaName == null) {
             return false;
         }
-        return activeGames.containsKey(arenaName.toLowerCase());
+        List<Game> games = activeGames.get(arenaName.toLowerCase());
+        return games != null && !games.isEmpty();
     }
 
     /**
@@ -462,9 +461,22 @@ public class ArenaManager {
             return null;
         }
 
-        // Verificar se já existe um jogo nessa arena
-        if (isArenaInUse(arenaName)) {
+        ArenaInstanceManager instanceManager = plugin.getArenaInstanceManager();
+        if (instanceManager.isEnabled()) {
+            // Cada jogo roda em uma cópia do mundo; o mundo da arena nunca é usado
+            arena = instanceManager.acquire(arena);
+            if (arena == null) {
+                return null;
+            }
+        } else if (isArenaInUse(arenaName) || plugin.getArenaResetManager().isRestoring(arena)) {
+            // Sem instâncias, só um jogo por arena, e só depois de a arena ser restaurada
+            return null;
+        } else if (!plugin.getArenaResetManager().isReady(arena)) {
+            // Nenhum bloco pode mudar antes de a cópia da arena existir
+            plugin.getArenaResetManager().snapshot(arena);
             return null;
+        } else {
+            plugin.getArenaResetManager().prepare(arena);
         }
 
         // Criar novo jogo
@@ -472,13 +484,20 @@ public class ArenaManager {
         game.setGameMode(arena.getDefaultGameMode());
 
         // Registrar jogo
-        activeGames.put(arenaName.toLowerCase(), game);
+        activeGames.computeIfAbsent(arenaName.toLowerCase(), k -> new ArrayList<>()).add(game);
+
+        // Carregar os chunks da arena enquanto os jogadores entram
+        plugin.getChunkWarmupManager().warm(game);
+
+        // Validar os spawns em segundo plano (só na primeira vez, depois fica em cache)
+        arena.getSpawnAllocator().prepare(plugin);
 
         return game;
     }
 
     /**
      * Obtém um jogo ativo por nome da arena
+     * Se a arena tiver vários jogos, dá preferência a um que ainda aceita jogadores
      *
      * @param arenaName Nome da arena
      * @return O jogo ou null se não existir
@@ -487,7 +506,28 @@ public class ArenaManager {
         if (arenaName == null) {
             return null;
         }
-        return activeGames.get(arenaName.toLowerCase());
+
+        List<Game> games = activeGames.get(arenaName.toLowerCase());
+        if (games == null || games.isEmpty()) {
+            return null;
+        }
+
+        Game joinable = getJoinableGame(games);
+        return joinable != null ? joinable : games.get(0);
+    }
+
+    /**
+     * Procura um jogo que ainda aceita jogadores
+     */
+    private Game getJoinableGame(List<Game> games) {
+        for (Game game : games) {
+            GameState state = game.getState();
+            if ((state == GameState.WAITING || state == GameState.STARTING)
+                    && game.getPlayerCount() < game.getArena().getMaxPlayers()) {
+                return game;
+            }
+        }
+        return null;
     }
 
     /**
@@ -501,12 +541,33 @@ public class ArenaManager {
             return null;
         }
 
-        String arenaName = playerArena.get(player.getUniqueId());
-        if (arenaName == null) {
+        return getPlayerGame(player.getUniqueId());
+    }
+
+    /**
+     * Obtém um jogo pelo UUID do jogador
+     * Chamado em todo evento de jogador, por isso é uma única busca no índice
+     *
+     * @param playerUUID UUID do jogador
+     * @return O jogo em que o jogador está ou null
+     */
+    public Game getPlayerGame(UUID playerUUID) {
+        // Caminho rápido: ninguém em jogo (servidor só com lobby)
+        if (playerUUID == null || playerGames.isEmpty()) {
             return null;
         }
 
-        return getGame(arenaName);
+        return playerGames.get(playerUUID);
+    }
+
+    /**
+     * Verifica se um jogador está registrado em algum jogo
+     *
+     * @param player O jogador
+     * @return true se o jogador estiver em um jogo
+     */
+    public boolean isInGame(Player player) {
+        return player != null && !playerGames.isEmpty() && playerGames.containsKey(player.getUniqueId());
     }
 
     /**
@@ -520,7 +581,7 @@ public class ArenaManager {
             return;
         }
 
-        playerArena.put(player.getUniqueId(), game.getArena().getName().toLowerCase());
+        playerGames.put(player.getUniqueId(), game);
     }
 
     /**
@@ -533,7 +594,7 @@ public class ArenaManager {
             return;
         }
 
-        playerArena.remove(player.getUniqueId());
+        playerGames.remove(player.getUniqueId());
     }
 
     /**
@@ -546,7 +607,19 @@ public class ArenaManager {
             return;
         }
 
-        activeGames.remove(game.getArena().getName().toLowerCase());
+        String key = game.getArena().getName().toLowerCase();
+        List<Game> games = activeGames.get(key);
+        if (games != null) {
+            games.remove(game);
+            if (games.isEmpty()) {
+                activeGames.remove(key);
+            }
+        }
+
+        // Nenhum jogador pode continuar apontando para um jogo encerrado
+        if (!playerGames.isEmpty()) {
+            playerGames.values().removeIf(registered -> registered == game);
+        }
     }
 
     /**
@@ -555,7 +628,11 @@ public class ArenaManager {
      * @return Lista de jogos ativos
      */
     public List<Game> getAllGames() {
-        return new ArrayList<>(activeGames.values());
+        List<Game> games = new ArrayList<>();
+        for (List<Game> arenaGames : activeGames.values()) {
+            games.addAll(arenaGames);
+        }
+        return games;
     }
 
     /**
@@ -566,8 +643,11 @@ public class ArenaManager {
     public Arena getRandomAvailableArena() {
         List<Arena> availableArenas = new ArrayList<>();
 
+        // Com instâncias, uma arena em uso ainda pode receber outro jogo
+        boolean instancing = plugin.getArenaInstanceManager().isEnabled();
+
         for (Arena arena : arenas.values()) {
-            if (!isArenaInUse(arena.getName()) && arena.getState() == GameState.AVAILABLE) {
+            if ((instancing || !isArenaInUse(arena.getName())) && arena.getState() == GameState.AVAILABLE) {
                 availableArenas.add(arena);
             }
         }
@@ -594,7 +674,7 @@ public class ArenaManager {
         }
 
         // Verificar se o jogador já está em um jogo
-        if (playerArena.containsKey(player.getUniqueId())) {
+        if (isInGame(player)) {
             MessageUtil.sendMessage(player, "&cVocê já está em um jogo! Use /leave para sair.");
             return false;
         }
@@ -625,14 +705,25 @@ public class ArenaManager {
             return false;
         }
 
-        // Verificar se já existe um jogo na arena
-        game = getGame(arenaName);
+        // Verificar se já existe um jogo na arena que aceite jogadores
+        List<Game> games = activeGames.get(arenaName.toLowerCase());
+        if (games != null) {
+            game = plugin.getArenaInstanceManager().isEnabled() ? getJoinableGame(games) : games.get(0);
+        }
 
         // Se não existir, criar um novo
         if (game == null) {
             game = createGame(arenaName);
             if (game == null) {
-                MessageUtil.sendMessage(player, "&cNão foi possível criar um jogo na arena &e" + arenaName + "&c!");
+                if (plugin.getArenaInstanceManager().isEnabled()) {
+                    MessageUtil.sendMessage(player, "&eA arena &6" + arenaName + " &eestá preparando uma nova instância. Tente novamente em instantes.");
+                } else if (plugin.getArenaResetManager().isRestoring(arena)) {
+                    MessageUtil.sendMessage(player, "&eA arena &6" + arenaName + " &eestá sendo restaurada. Tente novamente em instantes.");
+                } else if (!plugin.getArenaResetManager().isReady(arena)) {
+                    MessageUtil.sendMessage(player, "&eA arena &6" + arenaName + " &eestá sendo preparada. Tente novamente em instantes.");
+                } else {
+                    MessageUtil.sendMessage(player, "&cNão foi possível criar um jogo na arena &e" + arenaName + "&c!");
+                }
                 return false;
             }
         }
@@ -0,0 +1,650 @@
+package com.br.gravitationalbattle.managers;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.ExperienceOrb;
+import org.bukkit.entity.FallingBlock;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.Projectile;
+import org.bukkit.entity.TNTPrimed;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import com.br.gravitationalbattle.GravitationalBattle;
+import com.br.gravitationalbattle.game.Arena;
+import com.br.gravitationalbattle.game.Game;
+import com.br.gravitationalbattle.storage.RegionSnapshot;
+
+/**
+ * Restaura as arenas depois de cada partida.
+ * <p>
+ * Cada arena tem uma cópia dos blocos da região em volta dos seus pontos de spawn
+ * (snapshots/&lt;arena&gt;.snap), lida ou tirada ao iniciar o plugin e tirada de novo quando
+ * os spawns mudam; a arena só recebe jogos depois de ter a cópia pronta. Durante a partida
+ * o ArenaResetListener marca os chunks alterados; no fim, só esses chunks são comparados com
+ * a cópia, fora da thread principal, e os blocos diferentes são recolocados aos poucos,
+ * arena-reset.blocks-per-tick por tick. Os chunks são carregados sem travar o tick e ficam
+ * presos até a restauração terminar. Itens no chão, flechas e outras entidades soltas na
+ * região são removidos. Depois de editar o mapa, a cópia é tirada de novo com /arena resnapshot.
+ */
+public class ArenaResetManager {
+
+    // Chunks copiados e enviados para comparação por tick durante uma restauração
+    private static final int CHUNKS_PER_TICK = 2;
+
+    private final GravitationalBattle plugin;
+    private final File folder;
+
+    // Cópias prontas, por arena
+    private final Map<String, Region> regions;
+
+    // Arenas com a cópia sendo lida ou tirada, com a marca da leitura em andamento
+    private final Map<String, Object> loading;
+
+    // Chunks alterados durante as partidas, por mundo com jogo em andamento
+    private final Map<UUID, Set<Long>> dirtyChunks;
+
+    // Restaurações em andamento, por arena
+    private final Map<String, Restore> restores;
+
+    public ArenaResetManager(GravitationalBattle plugin) {
+        this.plugin = plugin;
+        this.folder = new File(plugin.getDataFolder(), "snapshots");
+        this.regions = new HashMap<>();
+        this.loading = new HashMap<>();
+        this.dirtyChunks = new HashMap<>();
+        this.restores = new HashMap<>();
+    }
+
+    /**
+     * Lê ou tira a cópia de todas as arenas (chamado depois de carregar as arenas)
+     */
+    public void snapshotAll() {
+        for (Arena arena : plugin.getArenaManager().getAllArenas()) {
+            snapshot(arena);
+        }
+    }
+
+    /**
+     * Lê a cópia de uma arena, ou a tira se ainda não existir, a menos que já esteja pronta ou a caminho
+     *
+     * @param arena A arena
+     */
+    public void snapshot(Arena arena) {
+        if (!plugin.getConfigManager().isArenaResetEnabled() || arena.isInstance()) {
+            return;
+        }
+
+        String key = key(arena);
+        if (regions.containsKey(key) || loading.containsKey(key)) {
+            return;
+        }
+
+        File file = new File(folder, key + ".snap");
+        if (file.exists()) {
+            load(key, file);
+        } else {
+            capture(arena, file);
+        }
+    }
+
+    /**
+     * Verifica se uma arena pode receber um jogo: sem a cópia, os blocos alterados não teriam como voltar
+     *
+     * @param arena A arena
+     * @return true se a cópia estiver pronta (ou não for necessária)
+     */
+    public boolean isReady(Arena arena) {
+        return !plugin.getConfigManager().isArenaResetEnabled() || arena.isInstance()
+                || arena.getSpawnPointCount() == 0 || regions.containsKey(key(arena));
+    }
+
+    /**
+     * Prepara uma arena com a cópia pronta para um novo jogo: passa a registrar os chunks alterados
+     *
+     * @param arena A arena
+     */
+    public void prepare(Arena arena) {
+        if (!plugin.getConfigManager().isArenaResetEnabled() || arena.isInstance()) {
+            return;
+        }
+
+        dirtyChunks.computeIfAbsent(arena.getWorldUUID(), k -> new HashSet<>());
+    }
+
+    /**
+     * Marca o chunk de um bloco como alterado, se o mundo tiver um jogo em andamento
+     *
+     * @param block O bloco alterado
+     */
+    public void markDirty(Block block) {
+        Set<Long> dirty = dirtyChunks.get(block.getWorld().getUID());
+        if (dirty != null) {
+            dirty.add(chunkKey(block.getX() >> 4, block.getZ() >> 4));
+        }
+    }
+
+    /**
+     * Verifica se uma arena está sendo restaurada
+     *
+     * @param arena A arena
+     * @return true se a restauração ainda não terminou
+     */
+    public boolean isRestoring(Arena arena) {
+        return restores.containsKey(key(arena));
+    }
+
+    /**
+     * Começa a restaurar os chunks alterados de uma arena cujo jogo terminou
+     *
+     * @param arena A arena
+     * @param done Executado quando a restauração terminar (ou logo, se não houver nada a restaurar)
+     */
+    public void restore(Arena arena, Runnable done) {
+        if (arena.isInstance()) {
+            done.run();
+            return;
+        }
+
+        String key = key(arena);
+        Region region = regions.get(key);
+        World world = Bukkit.getWorld(arena.getWorldUUID());
+        long[] chunks = takeDirtyChunks(arena, region);
+
+        if (region == null || world == null) {
+            if (chunks.length > 0) {
+                plugin.getLogger().warning("A arena " + arena.getName() + " não tem cópia pronta e não foi restaurada.");
+            }
+            done.run();
+            return;
+        }
+
+        removeLooseEntities(world, region.snapshot);
+        if (chunks.length == 0) {
+            done.run();
+            return;
+        }
+
+        if (!plugin.isEnabled()) {
+            // Plugin sendo desativado: sem tarefas, restaurar agora
+            restoreNow(world, region, chunks);
+            done.run();
+            return;
+        }
+
+        Restore restore = new Restore(key, world, region, chunks, done);
+        restores.put(key, restore);
+        restore.runTaskTimer(plugin, 1L, 1L);
+    }
+
+    /**
+     * Descarta a cópia de uma arena (arena excluída ou com os spawns alterados)
+     *
+     * @param arenaName Nome da arena
+     */
+    public void forget(String arenaName) {
+        String key = arenaName.toLowerCase();
+        regions.remove(key);
+        loading.remove(key);
+
+        File file = new File(folder, key + ".snap");
+        if (file.exists() && !file.delete()) {
+            plugin.getLogger().warning("Não foi possível apagar a cópia da arena " + arenaName);
+        }
+    }
+
+    /**
+     * Descarta a cópia de uma arena cujos spawns mudaram e tira uma nova na hora, se a arena estiver
+     * livre; senão, a nova é tirada quando o próximo jogo for pedido
+     *
+     * @param arena A arena
+     */
+    public void refresh(Arena arena) {
+        forget(arena.getName());
+        if (!plugin.getArenaManager().isArenaInUse(arena.getName()) && !isRestoring(arena)) {
+            snapshot(arena);
+        }
+    }
+
+    /**
+     * Tira de novo a cópia de uma arena, depois de o mapa ser editado
+     *
+     * @param arena A arena
+     * @return false se a arena tem um jogo ou uma restauração em andamento
+     */
+    public boolean resnapshot(Arena arena) {
+        if (plugin.getArenaManager().isArenaInUse(arena.getName()) || isRestoring(arena)) {
+            return false;
+        }
+
+        forget(arena.getName());
+        if (plugin.getConfigManager().isArenaResetEnabled()) {
+            capture(arena, new File(folder, key(arena) + ".snap"));
+        }
+        return true;
+    }
+
+    /**
+     * Termina na hora todas as restaurações, incluindo as de jogos que não chegaram ao fim
+     * (ao desativar o plugin)
+     */
+    public void shutdown() {
+        for (Restore restore : new ArrayList<>(restores.values())) {
+            restore.cancel();
+            restoreNow(restore.world, restore.region, restore.chunks);
+            restore.finish();
+        }
+        restores.clear();
+
+        for (Game game : plugin.getArenaManager().getAllGames()) {
+            Arena arena = game.getArena();
+            Region region = regions.get(key(arena));
+            World world = Bukkit.getWorld(arena.getWorldUUID());
+            if (!arena.isInstance() && region != null && world != null) {
+                restoreNow(world, region, takeDirtyChunks(arena, region));
+            }
+        }
+    }
+
+    /**
+     * Lê a cópia de uma arena em segundo plano
+     */
+    private void load(final String key, final File file) {
+        final Object token = new Object();
+        loading.put(key, token);
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            RegionSnapshot snapshot = null;
+            try {
+                snapshot = RegionSnapshot.read(file);
+            } catch (IOException e) {
+                plugin.getLogger().severe("Erro ao ler a cópia da arena " + key + ": " + e.getMessage());
+            }
+
+            final RegionSnapshot result = snapshot;
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                if (loading.get(key) != token) {
+                    // Cópia descartada enquanto era lida
+                    return;
+                }
+                loading.remove(key);
+                if (result != null) {
+                    regions.put(key, new Region(result));
+                }
+            });
+        });
+    }
+
+    /**
+     * Copia os chunks em volta dos spawns à medida que o carregador os entrega (sem carregar
+     * a região inteira no mesmo tick) e codifica e grava a cópia em segundo plano
+     */
+    private void capture(Arena arena, final File file) {
+        final World world = Bukkit.getWorld(arena.getWorldUUID());
+        if (world == null) {
+            return;
+        }
+
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (Location spawn : arena.getSpawnPoints()) {
+            if (spawn.getWorld() == null || !spawn.getWorld().equals(world)) continue;
+            minX = Math.min(minX, spawn.getBlockX());
+            minY = Math.min(minY, spawn.getBlockY());
+            minZ = Math.min(minZ, spawn.getBlockZ());
+            maxX = Math.max(maxX, spawn.getBlockX());
+            maxY = Math.max(maxY, spawn.getBlockY());
+            maxZ = Math.max(maxZ, spawn.getBlockZ());
+        }
+        if (minX == Integer.MAX_VALUE) {
+            // Sem spawns no mundo da arena, não há região para copiar
+            return;
+        }
+
+        int padding = plugin.getConfigManager().getArenaResetChunkPadding();
+        int verticalPadding = plugin.getConfigManager().getArenaResetVerticalPadding();
+        final int minChunkX = (minX >> 4) - padding;
+        final int minChunkZ = (minZ >> 4) - padding;
+        final int maxChunkX = (maxX >> 4) + padding;
+        final int maxChunkZ = (maxZ >> 4) + padding;
+        final int bottom = Math.max(0, minY - verticalPadding);
+        final int top = Math.min(world.getMaxHeight() - 1, maxY + verticalPadding);
+
+        final String key = key(arena);
+        final Object token = new Object();
+        loading.put(key, token);
+
+        final int width = maxChunkZ - minChunkZ + 1;
+        final ChunkSnapshot[] snapshots = new ChunkSnapshot[(maxChunkX - minChunkX + 1) * width];
+        final int[] remaining = {snapshots.length};
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                final int x = chunkX;
+                final int z = chunkZ;
+                final int index = (x - minChunkX) * width + (z - minChunkZ);
+                plugin.getChunkWarmupManager().whenLoaded(new Location(world, x << 4, 0, z << 4), () -> {
+                    if (loading.get(key) != token) {
+                        // Cópia descartada antes de terminar
+                        return;
+                    }
+                    snapshots[index] = world.getChunkAt(x, z).getChunkSnapshot(false, false, false);
+
+                    if (--remaining[0] == 0 && plugin.isEnabled()) {
+                        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+                            RegionSnapshot snapshot = RegionSnapshot.capture(snapshots, minChunkX, minChunkZ, maxChunkX, maxChunkZ, bottom, top);
+                            try {
+                                file.getParentFile().mkdirs();
+                                snapshot.write(file);
+                            } catch (IOException e) {
+                                plugin.getLogger().severe("Erro ao gravar a cópia da arena " + key + ": " + e.getMessage());
+                            }
+
+                            Bukkit.getScheduler().runTask(plugin, () -> {
+                                if (loading.get(key) != token) {
+                                    // Descartada enquanto era gravada: a cópia no disco também não vale mais,
+                                    // a não ser que uma cópia nova já a tenha substituído
+                                    if (!loading.containsKey(key) && !regions.containsKey(key)) {
+                                        file.delete();
+                                    }
+                                    return;
+                                }
+                                loading.remove(key);
+                                regions.put(key, new Region(snapshot));
+                                plugin.getLogger().info("Cópia da arena " + key + " criada (" + snapshots.length + " chunks).");
+                            });
+                        });
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Tira da lista de alterados os chunks da região da arena
+     */
+    private long[] takeDirtyChunks(Arena arena, Region region) {
+        Set<Long> dirty = dirtyChunks.get(arena.getWorldUUID());
+        if (dirty == null) {
+            return new long[0];
+        }
+
+        List<Long> taken = new ArrayList<>();
+        if (region != null) {
+            Iterator<Long> iterator = dirty.iterator();
+            while (iterator.hasNext()) {
+                long key = iterator.next();
+                if (region.snapshot.contains((int) (key >> 32), (int) key)) {
+                    taken.add(key);
+                    iterator.remove();
+                }
+            }
+        }
+
+        // O mundo deixa de ser acompanhado quando nenhum outro jogo roda nele
+        if (!hasOtherGame(arena)) {
+            dirtyChunks.remove(arena.getWorldUUID());
+        }
+
+        long[] chunks = new long[taken.size()];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = taken.get(i);
+        }
+        return chunks;
+    }
+
+    private boolean hasOtherGame(Arena arena) {
+        for (Game game : plugin.getArenaManager().getAllGames()) {
+            Arena other = game.getArena();
+            if (other != arena && !other.isInstance() && other.getWorldUUID().equals(arena.getWorldUUID())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Remove itens, projéteis e outras entidades soltas dos chunks carregados da região
+     */
+    private void removeLooseEntities(World world, RegionSnapshot snapshot) {
+        for (int chunkX = snapshot.getMinChunkX(); chunkX <= snapshot.getMaxChunkX(); chunkX++) {
+            for (int chunkZ = snapshot.getMinChunkZ(); chunkZ <= snapshot.getMaxChunkZ(); chunkZ++) {
+                if (!world.isChunkLoaded(chunkX, chunkZ)) continue;
+
+                for (Entity entity : world.getChunkAt(chunkX, chunkZ).getEntities()) {
+                    if (entity instanceof Item || entity instanceof Projectile || entity instanceof ExperienceOrb
+                            || entity instanceof FallingBlock || entity instanceof TNTPrimed) {
+                        entity.remove();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Restaura chunks na hora, na thread principal. Só usado ao desativar o plugin, quando não há
+     * mais ticks: um chunk que já foi descarregado é carregado aqui mesmo
+     */
+    private void restoreNow(World world, Region region, long[] chunks) {
+        for (long key : chunks) {
+            int chunkX = (int) (key >> 32);
+            int chunkZ = (int) key;
+            ChunkSnapshot current = world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false);
+            diff(region, current, chunkX, chunkZ).apply(world, Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Compara um chunk com a cópia; só lê dados imutáveis, então roda fora da thread principal
+     */
+    private static Changes diff(Region region, ChunkSnapshot current, int chunkX, int chunkZ) {
+        RegionSnapshot snapshot = region.snapshot;
+        int[] blocks = snapshot.decode(chunkX, chunkZ);
+        int minY = snapshot.getMinY();
+
+        Changes changes = new Changes(chunkX, chunkZ, minY);
+        for (int i = 0; i < blocks.length; i++) {
+            BlockData expected = region.palette[blocks[i]];
+            int x = i & 15;
+            int z = (i >> 4) & 15;
+            int y = minY + (i >> 8);
+            if (expected != null && !current.getBlockData(x, y, z).equals(expected)) {
+                changes.add(i, expected);
+            }
+        }
+        return changes;
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private static String key(Arena arena) {
+        return arena.getTemplate().getName().toLowerCase();
+    }
+
+    /**
+     * Cópia de uma arena com a paleta já convertida em dados de bloco
+     */
+    private static final class Region {
+
+        final RegionSnapshot snapshot;
+        final BlockData[] palette;
+
+        Region(RegionSnapshot snapshot) {
+            this.snapshot = snapshot;
+
+            String[] names = snapshot.getPalette();
+            this.palette = new BlockData[names.length];
+            for (int i = 0; i < names.length; i++) {
+                try {
+                    palette[i] = Bukkit.createBlockData(names[i]);
+                } catch (IllegalArgumentException e) {
+                    // Bloco desconhecido nesta versão: fica como está
+                    palette[i] = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Blocos de um chunk que diferem da cópia
+     */
+    private static final class Changes {
+
+        final int chunkX;
+        final int chunkZ;
+        final int minY;
+        int[] positions = new int[64];
+        BlockData[] data = new BlockData[64];
+        int count;
+        int applied;
+
+        Changes(int chunkX, int chunkZ, int minY) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.minY = minY;
+        }
+
+        void add(int position, BlockData blockData) {
+            if (count == positions.length) {
+                positions = Arrays.copyOf(positions, count * 2);
+                data = Arrays.copyOf(data, count * 2);
+            }
+            positions[count] = position;
+            data[count] = blockData;
+            count++;
+        }
+
+        /**
+         * Recoloca até budget blocos
+         *
+         * @return Quantos blocos foram recolocados
+         */
+        int apply(World world, int budget) {
+            int done = 0;
+            while (applied < count && done < budget) {
+                int position = positions[applied];
+                Block block = world.getBlockAt((chunkX << 4) | (position & 15),
+                        minY + (position >> 8), (chunkZ << 4) | ((position >> 4) & 15));
+                block.setBlockData(data[applied], false);
+                applied++;
+                done++;
+            }
+            return done;
+        }
+
+        boolean isDone() {
+            return applied >= count;
+        }
+    }
+
+    /**
+     * Restauração de uma arena, conduzida tick a tick
+     */
+    private final class Restore extends BukkitRunnable {
+
+        final String key;
+        final World world;
+        final Region region;
+        final long[] chunks;
+        final Runnable done;
+
+        // Comparações feitas em segundo plano, esperando para serem aplicadas
+        final Queue<Changes> ready = new ConcurrentLinkedQueue<>();
+        final AtomicInteger pending = new AtomicInteger();
+
+        // Chunks presos por esta restauração, soltos quando ela termina
+        final List<Long> held = new ArrayList<>();
+
+        Changes applying;
+        int next;
+        int restored;
+
+        Restore(String key, World world, Region region, long[] chunks, Runnable done) {
+            this.key = key;
+            this.world = world;
+            this.region = region;
+            this.chunks = chunks;
+            this.done = done;
+        }
+
+        @Override
+        public void run() {
+            // Copiar alguns chunks e compará-los fora da thread principal
+            for (int i = 0; i < CHUNKS_PER_TICK && next < chunks.length; i++) {
+                final int chunkX = (int) (chunks[next] >> 32);
+                final int chunkZ = (int) chunks[next];
+                next++;
+
+                // Os chunks da margem da cópia podem estar fora dos tickets do jogo: carregados sem travar o tick
+                pending.incrementAndGet();
+                plugin.getChunkWarmupManager().whenLoaded(new Location(world, chunkX << 4, 0, chunkZ << 4), () -> {
+                    if (restores.get(key) != this) {
+                        // Terminada por shutdown() enquanto o chunk carregava
+                        return;
+                    }
+
+                    // Preso até os blocos serem recolocados, para que setBlockData nunca o carregue de novo
+                    plugin.getChunkWarmupManager().hold(world, chunkX, chunkZ);
+                    held.add(chunkKey(chunkX, chunkZ));
+
+                    final ChunkSnapshot current = world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false);
+                    Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+                        ready.add(diff(region, current, chunkX, chunkZ));
+                        pending.decrementAndGet();
+                    });
+                });
+            }
+
+            // Recolocar os blocos diferentes, dentro do limite do tick
+            int budget = plugin.getConfigManager().getArenaResetBlocksPerTick();
+            while (budget > 0) {
+                if (applying == null || applying.isDone()) {
+                    applying = ready.poll();
+                    if (applying == null) break;
+                }
+                int done = applying.apply(world, budget);
+                budget -= done;
+                restored += done;
+            }
+
+            if (next == chunks.length && pending.get() == 0 && ready.isEmpty()
+                    && (applying == null || applying.isDone())) {
+                cancel();
+                restores.remove(key);
+                finish();
+                plugin.getLogger().info("Arena " + key + " restaurada: " + restored + " blocos em "
+                        + chunks.length + " chunks.");
+            }
+        }
+
+        /**
+         * Solta os chunks presos e avisa quem esperava a restauração
+         */
+        void finish() {
+            for (long chunk : held) {
+                plugin.getChunkWarmupManager().unhold(world, (int) (chunk >> 32), (int) chunk);
+            }
+            held.clear();
+            done.run();
+        }
+    }
+}
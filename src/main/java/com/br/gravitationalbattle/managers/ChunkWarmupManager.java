@@ -0,0 +1,398 @@
+package com.br.gravitationalbattle.managers;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import com.br.gravitationalbattle.GravitationalBattle;
+import com.br.gravitationalbattle.game.Arena;
+import com.br.gravitationalbattle.game.Game;
+
+/**
+ * Carrega os chunks das arenas antes dos jogadores chegarem.
+ * <p>
+ * Quando um jogo é criado, os chunks dos spawns e da área entre eles são carregados e
+ * presos com um ticket do plugin até o jogo terminar (e a arena ser restaurada), para que
+ * a entrada dos jogadores, o início da partida e a restauração não carreguem chunks na thread principal. No Paper o carregamento
+ * usa getChunkAtAsync; no Spigot, um carregador espalha os chunks pelos ticks,
+ * chunk-warmup.chunks-per-tick por vez, atendendo antes os chunks que alguém está esperando.
+ */
+public class ChunkWarmupManager {
+
+    // World#getChunkAtAsync(int, int) do Paper, ou null no Spigot
+    private static final Method GET_CHUNK_AT_ASYNC = findGetChunkAtAsync();
+
+    private final GravitationalBattle plugin;
+
+    // Chunks de cada jogo, com ou sem ticket ainda
+    private final Map<Game, Warmup> warmups;
+
+    // Jogos segurando cada chunk, por mundo (o ticket do plugin é um só por chunk)
+    private final Map<UUID, Map<Long, Integer>> holders;
+
+    // Chunks que alguém está esperando para teleportar (só no Spigot), atendidos primeiro
+    private final Deque<Request> urgent;
+
+    private BukkitTask loaderTask;
+
+    public ChunkWarmupManager(GravitationalBattle plugin) {
+        this.plugin = plugin;
+        this.warmups = new LinkedHashMap<>();
+        this.holders = new HashMap<>();
+        this.urgent = new ArrayDeque<>();
+    }
+
+    /**
+     * Começa a carregar os chunks de um jogo recém-criado
+     *
+     * @param game O jogo
+     */
+    public void warm(Game game) {
+        Arena arena = game.getArena();
+        World world = Bukkit.getWorld(arena.getWorldUUID());
+        if (world == null || warmups.containsKey(game)) {
+            return;
+        }
+
+        Warmup warmup = new Warmup(world, chunksOf(arena, world));
+        warmups.put(game, warmup);
+
+        if (GET_CHUNK_AT_ASYNC != null) {
+            for (long key : warmup.chunks) {
+                final int chunkX = (int) (key >> 32);
+                final int chunkZ = (int) key;
+                loadAsync(world, chunkX, chunkZ).thenAccept(chunk -> onMainThread(() -> {
+                    if (!warmup.released) {
+                        warmup.hold(chunkX, chunkZ);
+                    }
+                }));
+            }
+            warmup.next = warmup.chunks.length;
+        } else {
+            startLoader();
+        }
+    }
+
+    /**
+     * Solta os chunks de um jogo encerrado
+     *
+     * @param game O jogo
+     */
+    public void release(Game game) {
+        Warmup warmup = warmups.remove(game);
+        if (warmup != null) {
+            warmup.release();
+        }
+    }
+
+    /**
+     * Prende um chunk já carregado com o ticket do plugin, até {@link #unhold(World, int, int)}.
+     * Cada chamada conta: o ticket só sai quando todos soltarem o chunk.
+     *
+     * @param world O mundo
+     * @param chunkX X do chunk
+     * @param chunkZ Z do chunk
+     */
+    public void hold(World world, int chunkX, int chunkZ) {
+        Map<Long, Integer> counts = holders.computeIfAbsent(world.getUID(), k -> new HashMap<>());
+        if (counts.merge(chunkKey(chunkX, chunkZ), 1, Integer::sum) == 1) {
+            // O ticket carrega o chunk, se preciso, e o mantém carregado
+            world.addPluginChunkTicket(chunkX, chunkZ, plugin);
+        }
+    }
+
+    /**
+     * Solta um chunk preso com {@link #hold(World, int, int)}
+     *
+     * @param world O mundo
+     * @param chunkX X do chunk
+     * @param chunkZ Z do chunk
+     */
+    public void unhold(World world, int chunkX, int chunkZ) {
+        Map<Long, Integer> counts = holders.get(world.getUID());
+        long key = chunkKey(chunkX, chunkZ);
+        Integer count = counts != null ? counts.get(key) : null;
+        if (count == null || count <= 1) {
+            if (counts != null) {
+                counts.remove(key);
+                if (counts.isEmpty()) {
+                    holders.remove(world.getUID());
+                }
+            }
+            world.removePluginChunkTicket(chunkX, chunkZ, plugin);
+        } else {
+            counts.put(key, count - 1);
+        }
+    }
+
+    /**
+     * Executa uma ação quando o chunk de um local estiver carregado, sem carregá-lo
+     * de forma síncrona no meio do tick
+     *
+     * @param location O local
+     * @param task A ação, sempre executada na thread principal
+     * @return A espera, que pode ser cancelada enquanto o chunk não carrega
+     */
+    public Pending whenLoaded(Location location, Runnable task) {
+        final Pending pending = new Pending();
+        Runnable action = () -> {
+            if (!pending.done) {
+                pending.done = true;
+                task.run();
+            }
+        };
+
+        World world = location.getWorld();
+        int chunkX = location.getBlockX() >> 4;
+        int chunkZ = location.getBlockZ() >> 4;
+
+        if (world == null || world.isChunkLoaded(chunkX, chunkZ)) {
+            action.run();
+        } else if (GET_CHUNK_AT_ASYNC != null) {
+            loadAsync(world, chunkX, chunkZ).thenAccept(chunk -> onMainThread(action));
+        } else {
+            urgent.add(new Request(world, chunkX, chunkZ, action));
+            startLoader();
+        }
+        return pending;
+    }
+
+    /**
+     * Solta todos os chunks e para o carregador (ao desativar o plugin)
+     */
+    public void shutdown() {
+        if (loaderTask != null) {
+            loaderTask.cancel();
+            loaderTask = null;
+        }
+
+        for (Warmup warmup : warmups.values()) {
+            warmup.release();
+        }
+        warmups.clear();
+
+        for (Request request : urgent) {
+            request.action.run();
+        }
+        urgent.clear();
+    }
+
+    /**
+     * Chunks dos spawns, da área entre eles e do lobby da arena, limitados a chunk-warmup.max-chunks
+     */
+    private long[] chunksOf(Arena arena, World world) {
+        List<Location> points = new ArrayList<>();
+        for (Location spawn : arena.getSpawnPoints()) {
+            if (spawn.getWorld() != null && spawn.getWorld().equals(world)) {
+                points.add(spawn);
+            }
+        }
+        if (points.isEmpty()) {
+            points.add(world.getSpawnLocation());
+        }
+
+        // Spawns primeiro: se o limite cortar a área, são eles que ficam
+        Set<Long> chunks = new LinkedHashSet<>();
+        int minX = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (Location point : points) {
+            int chunkX = point.getBlockX() >> 4;
+            int chunkZ = point.getBlockZ() >> 4;
+            chunks.add(chunkKey(chunkX, chunkZ));
+            minX = Math.min(minX, chunkX);
+            minZ = Math.min(minZ, chunkZ);
+            maxX = Math.max(maxX, chunkX);
+            maxZ = Math.max(maxZ, chunkZ);
+        }
+
+        Location lobby = arena.getLobbyLocation();
+        if (lobby != null && lobby.getWorld() != null && lobby.getWorld().equals(world)) {
+            chunks.add(chunkKey(lobby.getBlockX() >> 4, lobby.getBlockZ() >> 4));
+        }
+
+        int maxChunks = plugin.getConfigManager().getChunkWarmupMaxChunks();
+        for (int chunkX = minX; chunkX <= maxX && chunks.size() < maxChunks; chunkX++) {
+            for (int chunkZ = minZ; chunkZ <= maxZ && chunks.size() < maxChunks; chunkZ++) {
+                chunks.add(chunkKey(chunkX, chunkZ));
+            }
+        }
+
+        long[] result = new long[chunks.size()];
+        int i = 0;
+        for (long key : chunks) {
+            result[i++] = key;
+        }
+        return result;
+    }
+
+    /**
+     * Inicia o carregador por ticks do Spigot, se ainda não estiver rodando
+     */
+    private void startLoader() {
+        if (loaderTask != null) {
+            return;
+        }
+
+        loaderTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                int budget = plugin.getConfigManager().getChunkWarmupChunksPerTick();
+
+                // Primeiro quem está esperando um chunk para teleportar
+                while (budget > 0 && !urgent.isEmpty()) {
+                    Request request = urgent.poll();
+                    if (!request.world.isChunkLoaded(request.chunkX, request.chunkZ)) {
+                        request.world.loadChunk(request.chunkX, request.chunkZ);
+                        budget--;
+                    }
+                    request.action.run();
+                }
+
+                // Depois os chunks dos jogos, em ordem de criação
+                for (Warmup warmup : warmups.values()) {
+                    while (budget > 0 && warmup.next < warmup.chunks.length) {
+                        long key = warmup.chunks[warmup.next++];
+                        int chunkX = (int) (key >> 32);
+                        int chunkZ = (int) key;
+                        if (!warmup.world.isChunkLoaded(chunkX, chunkZ)) {
+                            budget--;
+                        }
+                        warmup.hold(chunkX, chunkZ);
+                    }
+                }
+
+                if (urgent.isEmpty() && !hasPendingWarmup()) {
+                    cancel();
+                    loaderTask = null;
+                }
+            }
+        }.runTaskTimer(plugin, 1L, 1L);
+    }
+
+    private boolean hasPendingWarmup() {
+        for (Warmup warmup : warmups.values()) {
+            if (warmup.next < warmup.chunks.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void onMainThread(Runnable action) {
+        if (Bukkit.isPrimaryThread()) {
+            action.run();
+        } else if (plugin.isEnabled()) {
+            Bukkit.getScheduler().runTask(plugin, action);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<Chunk> loadAsync(World world, int chunkX, int chunkZ) {
+        try {
+            return (CompletableFuture<Chunk>) GET_CHUNK_AT_ASYNC.invoke(world, chunkX, chunkZ);
+        } catch (ReflectiveOperationException e) {
+            // Não deveria acontecer: carregar agora mesmo
+            return CompletableFuture.completedFuture(world.getChunkAt(chunkX, chunkZ));
+        }
+    }
+
+    private static Method findGetChunkAtAsync() {
+        try {
+            return World.class.getMethod("getChunkAtAsync", int.class, int.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Chunks de um jogo e os tickets já colocados neles
+     */
+    private final class Warmup {
+
+        final World world;
+        final long[] chunks;
+        final List<Long> held = new ArrayList<>();
+        int next;
+        boolean released;
+
+        Warmup(World world, long[] chunks) {
+            this.world = world;
+            this.chunks = chunks;
+        }
+
+        void hold(int chunkX, int chunkZ) {
+            ChunkWarmupManager.this.hold(world, chunkX, chunkZ);
+            held.add(chunkKey(chunkX, chunkZ));
+        }
+
+        void release() {
+            released = true;
+            for (long key : held) {
+                unhold(world, (int) (key >> 32), (int) key);
+            }
+            held.clear();
+        }
+    }
+
+    /**
+     * Uma ação esperando o carregamento de um chunk
+     */
+    public static final class Pending {
+
+        private boolean done;
+
+        /**
+         * Cancela a ação, se ela ainda não rodou
+         */
+        public void cancel() {
+            done = true;
+        }
+
+        /**
+         * Verifica se a ação já rodou ou foi cancelada
+         *
+         * @return true se não há mais nada esperando
+         */
+        public boolean isDone() {
+            return done;
+        }
+    }
+
+    /**
+     * Um chunk que alguém está esperando
+     */
+    private static final class Request {
+
+        final World world;
+        final int chunkX;
+        final int chunkZ;
+        final Runnable action;
+
+        Request(World world, int chunkX, int chunkZ, Runnable action) {
+            this.world = world;
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.action = action;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.br.gravitationalbattle.managers;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
@@ -10,6 +12,8 @@ import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import com.br.gravitationalbattle.GravitationalBattle;
+import com.br.gravitationalbattle.game.SpawnAllocator;
+import com.br.gravitationalbattle.utils.Template;
 
 public class ConfigManager {
 
@@ -20,9 +24,28 @@ public class ConfigManager {
     private int startCountdown;
     private int gameTime;
     private int maxPlayers;
+    private int scoreboardUpdatesPerTick;
+    private int teleportsPerTick;
+    private int lobbyReturnPlayersPerTick;
+    private int chunkWarmupChunksPerTick;
+    private int chunkWarmupMaxChunks;
+    private boolean arenaResetEnabled;
+    private int arenaResetChunkPadding;
+    private int arenaResetVerticalPadding;
+    private int arenaResetBlocksPerTick;
+    private boolean arenaInstancingEnabled;
+    private int arenaInstancePoolSize;
+    private int maxArenaInstances;
+    private SpawnAllocator.Strategy spawnStrategy;
+    private String storageType;
+    private int playerCacheSize;
+
+    // Mensagens da seção "messages", compiladas na primeira vez que são usadas
+    private final Map<String, Template> messages;
 
     public ConfigManager(GravitationalBattle plugin) {
         this.plugin = plugin;
+        this.messages = new HashMap<>();
         loadConfig();
     }
 
@@ -67,6 +90,40 @@ public class ConfigManager {
         gameTime = config.getInt("game.max-time", 600); // 10 minutos por padrão
         maxPlayers = config.getInt("game.max-players", 16); // 16 jogadores por padrão
 
+        // Quantos scoreboards podem ser renderizados por tick
+        scoreboardUpdatesPerTick = Math.max(1, config.getInt("scoreboard.updates-per-tick", 10));
+
+        // Teleportes da fila feitos por tick
+        teleportsPerTick = Math.max(1, config.getInt("teleport.per-tick", 4));
+
+        // Jogadores atendidos por tick em cada etapa do retorno ao lobby
+        lobbyReturnPlayersPerTick = Math.max(1, config.getInt("lobby-return.players-per-tick", 4));
+
+        // Carregamento antecipado dos chunks das arenas
+        chunkWarmupChunksPerTick = Math.max(1, config.getInt("chunk-warmup.chunks-per-tick", 2));
+        chunkWarmupMaxChunks = Math.max(1, config.getInt("chunk-warmup.max-chunks", 256));
+
+        // Restauração das arenas depois de cada partida
+        arenaResetEnabled = config.getBoolean("arena-reset.enabled", true);
+        arenaResetChunkPadding = Math.max(0, config.getInt("arena-reset.chunk-padding", 2));
+        arenaResetVerticalPadding = Math.max(0, config.getInt("arena-reset.vertical-padding", 48));
+        arenaResetBlocksPerTick = Math.max(1, config.getInt("arena-reset.blocks-per-tick", 4096));
+
+        // Instâncias das arenas (cópias do mundo para jogos simultâneos)
+        arenaInstancingEnabled = config.getBoolean("arena-instances.enabled", false);
+        arenaInstancePoolSize = Math.max(0, config.getInt("arena-instances.pool-size", 1));
+        maxArenaInstances = Math.max(1, config.getInt("arena-instances.max-per-arena", 4));
+
+        // Distribuição dos spawns
+        spawnStrategy = SpawnAllocator.Strategy.fromName(config.getString("spawns.strategy", "max-distance"));
+
+        // Armazenamento dos dados dos jogadores
+        storageType = config.getString("storage.type", "yaml");
+        playerCacheSize = Math.max(1, config.getInt("storage.cache-size", 1000));
+
+        // As mensagens serão recompiladas a partir da nova configuração
+        messages.clear();
+
         // Carregar outras configurações
         loadArenaConfig();
     }
@@ -110,12 +167,14 @@ public class ConfigManager {
             loadArenaConfig();
         }
 
-        try {
-            getArenaConfig().save(configFile);
-        } catch (IOException e) {
-            plugin.getLogger().severe("Could not save arenas.yml file!");
-            e.printStackTrace();
-        }
+        plugin.getSaveService().save(configFile, getArenaConfig());
+    }
+
+    /**
+     * Salva o config.yml em segundo plano, de forma atômica
+     */
+    private void saveConfig() {
+        plugin.getSaveService().save(new File(plugin.getDataFolder(), "config.yml"), config);
     }
 
     /**
@@ -134,7 +193,7 @@ public class ConfigManager {
         config.set("lobby.yaw", location.getYaw());
         config.set("lobby.pitch", location.getPitch());
 
-        plugin.saveConfig();
+        saveConfig();
         plugin.getLogger().info("Lobby location set to: " +
                 location.getWorld().getName() + ", " +
                 location.getX() + ", " +
@@ -169,6 +228,159 @@ public class ConfigManager {
         return gameTime;
     }
 
+    /**
+     * Obtém o número máximo de scoreboards renderizados por tick
+     *
+     * @return Orçamento de atualizações por tick
+     */
+    public int getScoreboardUpdatesPerTick() {
+        return scoreboardUpdatesPerTick;
+    }
+
+    /**
+     * Obtém o tipo de armazenamento dos dados dos jogadores
+     *
+     * @return "yaml", "sqlite" ou "mapped"
+     */
+    public String getStorageType() {
+        return storageType;
+    }
+
+    /**
+     * Obtém quantos jogadores desconectados ficam com os dados em cache
+     *
+     * @return Tamanho do cache
+     */
+    public int getPlayerCacheSize() {
+        return playerCacheSize;
+    }
+
+    /**
+     * Verifica se cada jogo roda em uma cópia do mundo da arena
+     *
+     * @return true se as instâncias de arena estiverem ativas
+     */
+    public boolean isArenaInstancingEnabled() {
+        return arenaInstancingEnabled;
+    }
+
+    /**
+     * Obtém quantas instâncias ficam prontas, esperando jogadores, por arena
+     *
+     * @return Tamanho do pool
+     */
+    public int getArenaInstancePoolSize() {
+        return arenaInstancePoolSize;
+    }
+
+    /**
+     * Obtém o máximo de instâncias (prontas ou em jogo) de uma arena
+     *
+     * @return Máximo de instâncias por arena
+     */
+    public int getMaxArenaInstances() {
+        return maxArenaInstances;
+    }
+
+    /**
+     * Verifica se as arenas são restauradas depois de cada partida
+     *
+     * @return true se a restauração estiver ativa
+     */
+    public boolean isArenaResetEnabled() {
+        return arenaResetEnabled;
+    }
+
+    /**
+     * Obtém quantos chunks em volta dos spawns entram na cópia da arena
+     *
+     * @return Chunks de margem em cada direção
+     */
+    public int getArenaResetChunkPadding() {
+        return arenaResetChunkPadding;
+    }
+
+    /**
+     * Obtém quantos blocos acima e abaixo dos spawns entram na cópia da arena
+     *
+     * @return Blocos de margem na vertical
+     */
+    public int getArenaResetVerticalPadding() {
+        return arenaResetVerticalPadding;
+    }
+
+    /**
+     * Obtém quantos blocos são recolocados por tick ao restaurar uma arena
+     *
+     * @return Blocos por tick
+     */
+    public int getArenaResetBlocksPerTick() {
+        return arenaResetBlocksPerTick;
+    }
+
+    /**
+     * Obtém quantos chunks o carregador do Spigot carrega por tick
+     *
+     * @return Chunks por tick
+     */
+    public int getChunkWarmupChunksPerTick() {
+        return chunkWarmupChunksPerTick;
+    }
+
+    /**
+     * Obtém o máximo de chunks carregados antecipadamente por jogo
+     *
+     * @return Máximo de chunks
+     */
+    public int getChunkWarmupMaxChunks() {
+        return chunkWarmupMaxChunks;
+    }
+
+    /**
+     * Obtém quantos teleportes da fila são feitos por tick
+     *
+     * @return Teleportes por tick
+     */
+    public int getTeleportsPerTick() {
+        return teleportsPerTick;
+    }
+
+    /**
+     * Obtém quantos jogadores cada etapa do retorno ao lobby atende por tick
+     *
+     * @return Jogadores por tick
+     */
+    public int getLobbyReturnPlayersPerTick() {
+        return lobbyReturnPlayersPerTick;
+    }
+
+    /**
+     * Obtém como os spawns são distribuídos entre os jogadores
+     *
+     * @return A estratégia de spawns.strategy (round-robin ou max-distance)
+     */
+    public SpawnAllocator.Strategy getSpawnStrategy() {
+        return spawnStrategy;
+    }
+
+    /**
+     * Obtém uma mensagem da seção "messages" já compilada.
+     * O %prefix% é aplicado na compilação; os demais placeholders são preenchidos no render.
+     *
+     * @param key Chave da mensagem (ex.: "player-joined")
+     * @return A mensagem compilada
+     */
+    public Template getMessage(String key) {
+        Template message = messages.get(key);
+        if (message == null) {
+            String prefix = config.getString("messages.prefix", "");
+            String raw = config.getString("messages." + key, key);
+            message = Template.compile(raw.replace("%prefix%", prefix));
+            messages.put(key, message);
+        }
+        return message;
+    }
+
     /**
      * Verifica se o jogador deve ser teleportado para o lobby ao entrar no servidor
      *
@@ -195,6 +407,6 @@ public class ConfigManager {
     public void setMaxPlayers(int maxPlayers) {
         this.maxPlayers = maxPlayers;
         config.set("game.max-players", maxPlayers);
-        plugin.saveConfig();
+        saveConfig();
     }
 }
\ No newline at end of file
@@ -1,14 +1,19 @@
 package com.br.gravitationalbattle.managers;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
 
 import com.br.gravitationalbattle.GravitationalBattle;
 import com.br.gravitationalbattle.game.Arena;
 import com.br.gravitationalbattle.game.Game;
 import com.br.gravitationalbattle.game.GameState;
+import com.br.gravitationalbattle.game.LobbyReturn;
 import com.br.gravitationalbattle.utils.MessageUtil;
 
 /**
@@ -16,12 +21,230 @@ import com.br.gravitationalbattle.utils.MessageUtil;
  */
 public class GameManager {
 
+    private static final int TICKS_PER_SECOND = 20;
+
     private final GravitationalBattle plugin;
     private final ArenaManager arenaManager;
 
+    // Jogos com fase temporizada (contagem, em jogo, finalizando), em ordem de registro
+    private Game[] tickingGames;
+    private int tickingCount;
+    private boolean dispatching;
+    private boolean needsCompaction;
+
+    // Retornos ao lobby em andamento, avançados a cada tick
+    private final List<LobbyReturn> lobbyReturns;
+
+    private BukkitTask tickTask;
+    private long currentTick;
+    private long lastDispatchNanos;
+    private long maxDispatchNanos;
+
     public GameManager(GravitationalBattle plugin) {
         this.plugin = plugin;
         this.arenaManager = plugin.getArenaManager();
+        this.tickingGames = new Game[8];
+        this.tickingCount = 0;
+        this.lobbyReturns = new ArrayList<>();
+
+        startTickTask();
+    }
+
+    /**
+     * Inicia o relógio central que conduz todos os jogos ativos
+     */
+    private void startTickTask() {
+        tickTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                currentTick++;
+                if (currentTick % TICKS_PER_SECOND == 0) {
+                    dispatchSecond();
+                }
+                if (!lobbyReturns.isEmpty()) {
+                    advanceLobbyReturns();
+                }
+            }
+        }.runTaskTimer(plugin, 1L, 1L);
+    }
+
+    /**
+     * Para o relógio central (usado ao desativar o plugin)
+     */
+    public void shutdown() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+
+        // Ninguém fica preso com os itens da partida
+        for (LobbyReturn lobbyReturn : new ArrayList<>(lobbyReturns)) {
+            lobbyReturn.finish();
+        }
+        lobbyReturns.clear();
+    }
+
+    /**
+     * Começa a devolver ao lobby os jogadores de um jogo encerrado, alguns por tick
+     *
+     * @param lobbyReturn O retorno ao lobby
+     */
+    public void startLobbyReturn(LobbyReturn lobbyReturn) {
+        lobbyReturns.add(lobbyReturn);
+    }
+
+    /**
+     * Avança um tick de cada retorno ao lobby em andamento
+     */
+    private void advanceLobbyReturns() {
+        int perTick = plugin.getConfigManager().getLobbyReturnPlayersPerTick();
+        Iterator<LobbyReturn> iterator = lobbyReturns.iterator();
+        while (iterator.hasNext()) {
+            LobbyReturn lobbyReturn = iterator.next();
+            try {
+                if (lobbyReturn.advance(perTick)) {
+                    iterator.remove();
+                }
+            } catch (Exception e) {
+                plugin.getLogger().severe("Erro ao retornar os jogadores do jogo "
+                        + lobbyReturn.getGame().getArena().getName() + ": " + e.getMessage());
+                e.printStackTrace();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Executa a fase atual de cada jogo registrado, uma vez por segundo
+     */
+    private void dispatchSecond() {
+        long start = System.nanoTime();
+
+        // Jogos registrados durante o despacho só rodam no próximo segundo
+        int count = tickingCount;
+        dispatching = true;
+        try {
+            for (int i = 0; i < count; i++) {
+                Game game = tickingGames[i];
+                if (game == null) continue;
+
+                try {
+                    game.tickSecond();
+                } catch (Exception e) {
+                    plugin.getLogger().severe("Erro ao processar o jogo " + game.getArena().getName() + ": " + e.getMessage());
+                    e.printStackTrace();
+                }
+            }
+        } finally {
+            dispatching = false;
+        }
+
+        if (needsCompaction) {
+            compactTickingGames();
+        }
+
+        lastDispatchNanos = System.nanoTime() - start;
+        if (lastDispatchNanos > maxDispatchNanos) {
+            maxDispatchNanos = lastDispatchNanos;
+        }
+    }
+
+    /**
+     * Registra um jogo no relógio central (ignorado se já estiver registrado)
+     *
+     * @param game O jogo
+     */
+    public void startTicking(Game game) {
+        if (game == null || indexOfTicking(game) >= 0) {
+            return;
+        }
+
+        if (tickingCount == tickingGames.length) {
+            tickingGames = Arrays.copyOf(tickingGames, tickingGames.length * 2);
+        }
+        tickingGames[tickingCount++] = game;
+    }
+
+    /**
+     * Remove um jogo do relógio central
+     *
+     * @param game O jogo
+     */
+    public void stopTicking(Game game) {
+        int index = indexOfTicking(game);
+        if (index < 0) {
+            return;
+        }
+
+        if (dispatching) {
+            // Não mexer no array enquanto ele está sendo percorrido
+            tickingGames[index] = null;
+            needsCompaction = true;
+            return;
+        }
+
+        int moved = tickingCount - index - 1;
+        if (moved > 0) {
+            System.arraycopy(tickingGames, index + 1, tickingGames, index, moved);
+        }
+        tickingGames[--tickingCount] = null;
+    }
+
+    private int indexOfTicking(Game game) {
+        for (int i = 0; i < tickingCount; i++) {
+            if (tickingGames[i] == game) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void compactTickingGames() {
+        int write = 0;
+        for (int read = 0; read < tickingCount; read++) {
+            if (tickingGames[read] != null) {
+                tickingGames[write++] = tickingGames[read];
+            }
+        }
+        Arrays.fill(tickingGames, write, tickingCount, null);
+        tickingCount = write;
+        needsCompaction = false;
+    }
+
+    /**
+     * Obtém a quantidade de jogos conduzidos pelo relógio central
+     *
+     * @return Quantidade de jogos
+     */
+    public int getTickingGameCount() {
+        return tickingCount;
+    }
+
+    /**
+     * Obtém quanto tempo levou o último processamento de segundo de todos os jogos
+     *
+     * @return Duração em nanossegundos
+     */
+    public long getLastDispatchNanos() {
+        return lastDispatchNanos;
+    }
+
+    /**
+     * Obtém o maior tempo de processamento de segundo observado
+     *
+     * @return Duração em nanossegundos
+     */
+    public long getMaxDispatchNanos() {
+        return maxDispatchNanos;
+    }
+
+    /**
+     * Obtém o tick atual do relógio central
+     *
+     * @return Número de ticks desde que o plugin foi ativado
+     */
+    public long getCurrentTick() {
+        return currentTick;
     }
 
     /**
@@ -46,7 +269,17 @@ public class GameManager {
      * @return true se o jogador estiver em um jogo
      */
     public boolean isPlayerInGame(Player player) {
-        return arenaManager.getPlayerGame(player) != null;
+        return arenaManager.isInGame(player);
+    }
+
+    /**
+     * Obtém o jogo em que um jogador está
+     *
+     * @param player O jogador
+     * @return O jogo ou null se o jogador não estiver em nenhum jogo
+     */
+    public Game getPlayerGame(Player player) {
+        return arenaManager.getPlayerGame(player);
     }
 
     /**
@@ -0,0 +1,304 @@
+package com.br.gravitationalbattle.managers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+
+import com.br.gravitationalbattle.GravitationalBattle;
+import com.br.gravitationalbattle.storage.PlayerData;
+import com.br.gravitationalbattle.storage.PlayerStorage;
+
+/**
+ * Top-N leaderboards for kills, wins, games played and K/D, kept in order as stats change.
+ * <p>
+ * Each board holds only a window of the best {@value #WINDOW_SIZE} players in a sorted set,
+ * plus a floor: every player outside the window scores at most the floor. A change to a
+ * player's stats re-sorts just that player, O(log n). Counters only grow, so players outside
+ * the window can only enter it through a change seen here. K/D can drop: a player that falls
+ * below the floor leaves the window, and only when fewer than {@value #TOP_SIZE} players are
+ * left is that board rebuilt with a full scan of the storage. The scan runs in the background;
+ * the old window keeps being shown until the new board is swapped in on the main thread.
+ */
+public class LeaderboardManager {
+
+    // Players always available from getTop
+    public static final int TOP_SIZE = 10;
+
+    // Players kept per board; the slack above TOP_SIZE absorbs K/D drops without rescans
+    private static final int WINDOW_SIZE = 100;
+
+    public enum Stat {
+        KILLS("Kills"),
+        WINS("Wins"),
+        GAMES_PLAYED("Games Played"),
+        KD("K/D");
+
+        private final String displayName;
+
+        Stat(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        /**
+         * Gets the score of a player on this board
+         *
+         * @param values Stat values, indexed by stat id (see {@link PlayerStorage})
+         * @return The score
+         */
+        public double score(int[] values) {
+            switch (this) {
+                case KILLS:
+                    return values[PlayerStorage.KILLS];
+                case WINS:
+                    return values[PlayerStorage.WINS];
+                case GAMES_PLAYED:
+                    return values[PlayerStorage.GAMES_PLAYED];
+                default:
+                    int deaths = values[PlayerStorage.DEATHS];
+                    // Same as StatsManager: kills when there are no deaths yet
+                    return deaths == 0 ? values[PlayerStorage.KILLS] : (double) values[PlayerStorage.KILLS] / deaths;
+            }
+        }
+
+        /**
+         * Finds a board by name, as typed in commands
+         *
+         * @param name Board name (kills, wins, games, kd)
+         * @return The board, or null if unknown
+         */
+        public static Stat fromName(String name) {
+            switch (name.toLowerCase()) {
+                case "kills":
+                    return KILLS;
+                case "wins":
+                    return WINS;
+                case "games":
+                case "gamesplayed":
+                    return GAMES_PLAYED;
+                case "kd":
+                case "k/d":
+                    return KD;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    /**
+     * A player's position on a board
+     */
+    public static final class Entry implements Comparable<Entry> {
+
+        private final UUID uuid;
+        private final double score;
+
+        Entry(UUID uuid, double score) {
+            this.uuid = uuid;
+            this.score = score;
+        }
+
+        public UUID getUuid() {
+            return uuid;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        /**
+         * Gets the player's name, from the server's cache of known players
+         *
+         * @return The name, or "?" if the server doesn't know it
+         */
+        public String getName() {
+            OfflinePlayer player = Bukkit.getOfflinePlayer(uuid);
+            return player.getName() != null ? player.getName() : "?";
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            // Highest score first; ties in a stable order
+            int result = Double.compare(other.score, score);
+            return result != 0 ? result : uuid.compareTo(other.uuid);
+        }
+    }
+
+    private static final class Board {
+
+        final Stat stat;
+        final TreeSet<Entry> ranking = new TreeSet<>();
+        final Map<UUID, Entry> entries = new HashMap<>();
+
+        // Highest score of a player left out of the window; negative while nobody is left out
+        double floor = -1;
+
+        Board(Stat stat) {
+            this.stat = stat;
+        }
+
+        void put(UUID uuid, double score) {
+            Entry entry = new Entry(uuid, score);
+            ranking.add(entry);
+            entries.put(uuid, entry);
+
+            if (ranking.size() > WINDOW_SIZE) {
+                Entry last = ranking.pollLast();
+                entries.remove(last.uuid);
+                floor = Math.max(floor, last.score);
+            }
+        }
+
+        /**
+         * Moves a player to their new score
+         *
+         * @return false if the board has to be rebuilt
+         */
+        boolean update(UUID uuid, double score) {
+            Entry old = entries.remove(uuid);
+            if (old != null) {
+                ranking.remove(old);
+            }
+
+            if (score < floor) {
+                // Can't be ranked against the players outside the window, so it leaves it too
+                return ranking.size() >= TOP_SIZE;
+            }
+
+            put(uuid, score);
+            return true;
+        }
+    }
+
+    private final GravitationalBattle plugin;
+    private final Board[] boards;
+
+    // Boards being rebuilt in the background, with the scores that changed since the scan started
+    private final Map<Stat, Map<UUID, Double>> rebuilding;
+
+    public LeaderboardManager(GravitationalBattle plugin) {
+        this.plugin = plugin;
+        this.rebuilding = new HashMap<>();
+        this.boards = new Board[Stat.values().length];
+        for (Stat stat : Stat.values()) {
+            boards[stat.ordinal()] = new Board(stat);
+        }
+
+        // The boards stay empty until the first scan finishes, so startup never waits on the storage
+        rebuildAsync(Stat.values());
+    }
+
+    /**
+     * Rebuilds boards from one full scan of the storage off the main thread, then swaps them in
+     */
+    private void rebuildAsync(Stat... stats) {
+        final List<Stat> targets = new ArrayList<>(stats.length);
+        for (Stat stat : stats) {
+            if (!rebuilding.containsKey(stat)) {
+                targets.add(stat);
+            }
+        }
+        if (targets.isEmpty() || !plugin.isEnabled()) {
+            return;
+        }
+        for (Stat stat : targets) {
+            rebuilding.put(stat, new HashMap<>());
+        }
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            final List<Board> fresh = new ArrayList<>(targets.size());
+            for (Stat stat : targets) {
+                fresh.add(new Board(stat));
+            }
+            plugin.getPlayerStorage().forEachStats((uuid, values) -> {
+                for (Board board : fresh) {
+                    board.put(uuid, board.stat.score(values));
+                }
+            });
+
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                for (Board board : fresh) {
+                    // Scores are absolute, so replaying a change the scan already saw is harmless
+                    boolean complete = true;
+                    for (Map.Entry<UUID, Double> change : rebuilding.remove(board.stat).entrySet()) {
+                        complete &= board.update(change.getKey(), change.getValue());
+                    }
+                    boards[board.stat.ordinal()] = board;
+
+                    if (!complete) {
+                        rebuildAsync(board.stat);
+                    }
+                }
+            });
+        });
+    }
+
+    /**
+     * Updates every board after a player's stats changed
+     *
+     * @param data The player's current data
+     */
+    public void update(PlayerData data) {
+        int[] values = new int[PlayerStorage.GAMES_PLAYED + 1];
+        for (byte stat = 0; stat < values.length; stat++) {
+            values[stat] = data.getStat(stat);
+        }
+
+        for (Board board : boards) {
+            double score = board.stat.score(values);
+            Map<UUID, Double> changed = rebuilding.get(board.stat);
+            if (changed != null) {
+                changed.put(data.getUuid(), score);
+            }
+
+            if (!board.update(data.getUuid(), score)) {
+                rebuildAsync(board.stat);
+            }
+        }
+    }
+
+    /**
+     * Gets the best players on a board, in order
+     *
+     * @param stat The board
+     * @param limit Maximum number of players; up to {@value #TOP_SIZE} are always available
+     * @return The top players, best first
+     */
+    public List<Entry> getTop(Stat stat, int limit) {
+        Board board = boards[stat.ordinal()];
+        if (limit <= 0 || board.ranking.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Entry> top = new ArrayList<>(Math.min(limit, board.ranking.size()));
+        Iterator<Entry> iterator = board.ranking.iterator();
+        while (iterator.hasNext() && top.size() < limit) {
+            top.add(iterator.next());
+        }
+        return top;
+    }
+
+    /**
+     * Gets a player's position on a board
+     *
+     * @param stat The board
+     * @param uuid The player
+     * @return Position starting at 1, or -1 if they're not among the players kept on the board
+     */
+    public int getPosition(Stat stat, UUID uuid) {
+        Board board = boards[stat.ordinal()];
+        Entry entry = board.entries.get(uuid);
+        return entry == null ? -1 : board.ranking.headSet(entry).size() + 1;
+    }
+}
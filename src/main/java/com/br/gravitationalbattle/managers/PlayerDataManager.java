@@ -0,0 +1,288 @@
+package com.br.gravitationalbattle.managers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import com.br.gravitationalbattle.GravitationalBattle;
+import com.br.gravitationalbattle.storage.PlayerData;
+import com.br.gravitationalbattle.storage.PlayerStorage;
+
+/**
+ * Gerencia o cache dos dados dos jogadores (estatísticas, tokens e itens).
+ * <p>
+ * Os dados são carregados um jogador por vez, no pré-login (fora da thread principal),
+ * e ficam separados até o jogador entrar, para que o LRU não os descarte antes disso.
+ * Jogadores online ficam fixos no cache; quem sai vai para um cache LRU limitado por
+ * storage.cache-size. Toda alteração já é enviada ao {@link PlayerStorage} na hora,
+ * então descartar uma entrada do LRU não precisa gravar nada. Nada é lido do armazenamento
+ * na thread principal: o que não está em cache é lido em segundo plano, e as alterações
+ * esperam a leitura terminar (ver {@link #whenLoaded(UUID, Consumer)}).
+ */
+public class PlayerDataManager {
+
+    private final GravitationalBattle plugin;
+
+    // Jogadores conectados: nunca são descartados
+    private final Map<UUID, PlayerData> online;
+
+    // Jogadores carregados no pré-login que ainda não entraram
+    private final Map<UUID, PlayerData> preloaded;
+
+    // Jogadores desconectados, do acesso mais antigo para o mais recente
+    private final LinkedHashMap<UUID, PlayerData> offline;
+
+    // Jogadores online cujos dados ainda estão sendo lidos, com as ações esperando por eles (thread principal)
+    private final Map<UUID, List<Consumer<PlayerData>>> loading;
+
+    public PlayerDataManager(GravitationalBattle plugin) {
+        this.plugin = plugin;
+        this.online = new HashMap<>();
+        this.preloaded = new HashMap<>();
+        this.loading = new HashMap<>();
+
+        final int capacity = plugin.getConfigManager().getPlayerCacheSize();
+        this.offline = new LinkedHashMap<UUID, PlayerData>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, PlayerData> eldest) {
+                return size() > capacity;
+            }
+        };
+
+        // Jogadores que já estavam online (ex.: /reload)
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            pin(player);
+        }
+    }
+
+    /**
+     * Carrega os dados de um jogador antes de ele entrar.
+     * Chamado na thread do pré-login; a leitura do armazenamento é feita fora do lock.
+     *
+     * @param uuid UUID do jogador
+     */
+    public void preload(UUID uuid) {
+        synchronized (this) {
+            if (online.containsKey(uuid) || preloaded.containsKey(uuid)) {
+                return;
+            }
+
+            // Já em cache: só sai do LRU
+            PlayerData cached = offline.remove(uuid);
+            if (cached != null) {
+                preloaded.put(uuid, cached);
+                return;
+            }
+        }
+
+        PlayerData data = plugin.getPlayerStorage().load(uuid);
+
+        synchronized (this) {
+            if (!online.containsKey(uuid) && !preloaded.containsKey(uuid)) {
+                // Quem carregou o jogador enquanto isso (ex.: liquidação de uma partida) deixou os dados no LRU
+                PlayerData cached = offline.remove(uuid);
+                preloaded.put(uuid, cached != null ? cached : data);
+            }
+        }
+    }
+
+    /**
+     * Descarta os dados carregados no pré-login de um jogador que não chegou a entrar
+     *
+     * @param uuid UUID do jogador
+     */
+    public synchronized void discardPreload(UUID uuid) {
+        PlayerData data = preloaded.remove(uuid);
+        if (data != null) {
+            offline.put(uuid, data);
+        }
+    }
+
+    /**
+     * Fixa os dados de um jogador no cache enquanto ele estiver online.
+     * Se o pré-login não os carregou, são lidos em segundo plano e fixados quando chegarem.
+     *
+     * @param player O jogador
+     */
+    public void pin(Player player) {
+        final UUID uuid = player.getUniqueId();
+
+        synchronized (this) {
+            PlayerData data = online.get(uuid);
+            if (data == null) {
+                data = preloaded.remove(uuid);
+            }
+            if (data == null) {
+                data = offline.remove(uuid);
+            }
+            if (data != null) {
+                online.put(uuid, data);
+                return;
+            }
+        }
+
+        if (loading.containsKey(uuid)) {
+            return;
+        }
+        loading.put(uuid, new ArrayList<>());
+        getOfflineAsync(uuid, data -> {
+            List<Consumer<PlayerData>> waiting = loading.remove(uuid);
+
+            Player current = Bukkit.getPlayer(uuid);
+            if (current != null && current.isOnline()) {
+                synchronized (this) {
+                    offline.remove(uuid);
+                    online.putIfAbsent(uuid, data);
+                }
+                // O placar mostrava valores zerados até agora
+                plugin.getScoreboardManager().markDirty(current);
+            }
+
+            if (waiting != null) {
+                for (Consumer<PlayerData> action : waiting) {
+                    action.accept(data);
+                }
+            }
+        });
+    }
+
+    /**
+     * Libera um jogador que saiu: os dados passam para o cache LRU
+     *
+     * @param player O jogador
+     */
+    public synchronized void unpin(Player player) {
+        PlayerData data = online.remove(player.getUniqueId());
+        if (data != null) {
+            offline.put(player.getUniqueId(), data);
+        }
+    }
+
+    /**
+     * Obtém os dados de um jogador para leitura.
+     * Se ainda não estiverem em cache, devolve dados zerados (e a leitura começa em segundo plano);
+     * alterações devem usar {@link #whenLoaded(UUID, Consumer)}.
+     *
+     * @param player O jogador
+     * @return Os dados do jogador
+     */
+    public PlayerData get(Player player) {
+        UUID uuid = player.getUniqueId();
+
+        synchronized (this) {
+            PlayerData data = online.get(uuid);
+            if (data != null) {
+                return data;
+            }
+        }
+
+        if (player.isOnline()) {
+            pin(player);
+        }
+
+        // Jogador que já saiu (ex.: recompensa no fim da partida) usa o LRU sem fixá-lo
+        PlayerData data = getCached(uuid);
+        return data != null ? data : new PlayerData(uuid);
+    }
+
+    /**
+     * Verifica se os dados de um jogador já estão em cache
+     *
+     * @param uuid UUID do jogador
+     * @return true se os dados podem ser alterados agora
+     */
+    public boolean isLoaded(UUID uuid) {
+        return getCached(uuid) != null;
+    }
+
+    /**
+     * Executa uma ação com os dados de um jogador assim que estiverem em cache: na hora, se já
+     * estiverem, ou na thread principal depois de lidos em segundo plano
+     *
+     * @param uuid UUID do jogador
+     * @param action Recebe os dados, sempre na thread principal
+     */
+    public void whenLoaded(UUID uuid, Consumer<PlayerData> action) {
+        List<Consumer<PlayerData>> waiting = loading.get(uuid);
+        if (waiting != null && plugin.isEnabled()) {
+            waiting.add(action);
+            return;
+        }
+        getOfflineAsync(uuid, action);
+    }
+
+    /**
+     * Obtém os dados de um jogador que pode estar offline sem bloquear a thread principal:
+     * se não estiverem em cache, são lidos em segundo plano
+     *
+     * @param uuid UUID do jogador
+     * @param callback Recebe os dados, sempre na thread principal
+     */
+    public void getOfflineAsync(final UUID uuid, final Consumer<PlayerData> callback) {
+        PlayerData cached = getCached(uuid);
+        if (cached != null) {
+            callback.accept(cached);
+            return;
+        }
+
+        if (!plugin.isEnabled()) {
+            // Plugin sendo desativado: sem tarefas, ler agora
+            callback.accept(getOffline(uuid));
+            return;
+        }
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            final PlayerData data = getOffline(uuid);
+            Bukkit.getScheduler().runTask(plugin, () -> callback.accept(data));
+        });
+    }
+
+    /**
+     * Lê os dados de um jogador sem fixá-los no cache; bloqueia, então só roda fora da thread principal
+     * (ou ao desativar o plugin)
+     */
+    private PlayerData getOffline(UUID uuid) {
+        PlayerData data = getCached(uuid);
+        if (data != null) {
+            return data;
+        }
+
+        PlayerData loaded = plugin.getPlayerStorage().load(uuid);
+
+        synchronized (this) {
+            PlayerData existing = getCached(uuid);
+            if (existing != null) {
+                return existing;
+            }
+            offline.put(uuid, loaded);
+            return loaded;
+        }
+    }
+
+    private synchronized PlayerData getCached(UUID uuid) {
+        PlayerData data = online.get(uuid);
+        if (data == null) {
+            data = preloaded.get(uuid);
+        }
+        if (data == null) {
+            data = offline.get(uuid);
+        }
+        return data;
+    }
+
+    /**
+     * Obtém a quantidade de jogadores em cache
+     *
+     * @return Jogadores online, entrando e os do cache LRU
+     */
+    public synchronized int getCachedCount() {
+        return online.size() + preloaded.size() + offline.size();
+    }
+}
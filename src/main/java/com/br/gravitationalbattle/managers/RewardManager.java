@@ -1,17 +1,12 @@
 package com.br.gravitationalbattle.managers;
 
-import java.io.File;
-import java.io.IOException;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 
 import com.br.gravitationalbattle.GravitationalBattle;
+import com.br.gravitationalbattle.storage.PlayerData;
 
 /**
  * Gerencia recompensas e moedas do jogo
@@ -19,12 +14,6 @@ import com.br.gravitationalbattle.GravitationalBattle;
 public class RewardManager {
 
     private final GravitationalBattle plugin;
-    private Map<UUID, Integer> playerTokens;
-    private Map<UUID, List<String>> playerItems;
-    private FileConfiguration tokensConfig;
-    private FileConfiguration itemsConfig;
-    private File tokensFile;
-    private File itemsFile;
 
     // Configurações de recompensas
     private int baseWinReward = 100;
@@ -40,14 +29,12 @@ public class RewardManager {
 
     public RewardManager(GravitationalBattle plugin) {
         this.plugin = plugin;
-        this.playerTokens = new HashMap<>();
-        this.playerItems = new HashMap<>();
 
         loadConfig();
     }
 
     /**
-     * Carrega as configurações de recompensas e dados salvos
+     * Carrega as configurações de recompensas
      */
     public void loadConfig() {
         // Carregar configurações de recompensas do config.yml
@@ -62,106 +49,13 @@ public class RewardManager {
         soloMultiplier = config.getDouble("rewards.multipliers.solo", 1.0);
         duosMultiplier = config.getDouble("rewards.multipliers.duos", 1.2);
         squadsMultiplier = config.getDouble("rewards.multipliers.squads", 1.5);
-
-        // Carregar dados salvos de tokens e itens comprados
-        setupFiles();
-        loadTokens();
-        loadItems();
-    }
-
-    /**
-     * Configura os arquivos de dados
-     */
-    private void setupFiles() {
-        // Tokens
-        tokensFile = new File(plugin.getDataFolder(), "tokens.yml");
-        if (!tokensFile.exists()) {
-            try {
-                tokensFile.createNewFile();
-            } catch (IOException e) {
-                plugin.getLogger().severe("Não foi possível criar o arquivo tokens.yml!");
-                e.printStackTrace();
-            }
-        }
-        tokensConfig = YamlConfiguration.loadConfiguration(tokensFile);
-
-        // Items
-        itemsFile = new File(plugin.getDataFolder(), "purchased-items.yml");
-        if (!itemsFile.exists()) {
-            try {
-                itemsFile.createNewFile();
-            } catch (IOException e) {
-                plugin.getLogger().severe("Não foi possível criar o arquivo purchased-items.yml!");
-                e.printStackTrace();
-            }
-        }
-        itemsConfig = YamlConfiguration.loadConfiguration(itemsFile);
-    }
-
-    /**
-     * Carrega os tokens dos jogadores do arquivo
-     */
-    private void loadTokens() {
-        playerTokens.clear();
-
-        for (String uuidStr : tokensConfig.getKeys(false)) {
-            try {
-                UUID uuid = UUID.fromString(uuidStr);
-                int tokens = tokensConfig.getInt(uuidStr);
-                playerTokens.put(uuid, tokens);
-            } catch (IllegalArgumentException e) {
-                plugin.getLogger().warning("UUID inválido no arquivo tokens.yml: " + uuidStr);
-            }
-        }
-    }
-
-    /**
-     * Carrega os itens comprados pelos jogadores do arquivo
-     */
-    private void loadItems() {
-        playerItems.clear();
-
-        for (String uuidStr : itemsConfig.getKeys(false)) {
-            try {
-                UUID uuid = UUID.fromString(uuidStr);
-                List<String> items = itemsConfig.getStringList(uuidStr);
-                playerItems.put(uuid, items);
-            } catch (IllegalArgumentException e) {
-                plugin.getLogger().warning("UUID inválido no arquivo purchased-items.yml: " + uuidStr);
-            }
-        }
-    }
-
-    /**
-     * Salva os tokens dos jogadores no arquivo
-     */
-    public void saveTokens() {
-        for (Map.Entry<UUID, Integer> entry : playerTokens.entrySet()) {
-            tokensConfig.set(entry.getKey().toString(), entry.getValue());
-        }
-
-        try {
-            tokensConfig.save(tokensFile);
-        } catch (IOException e) {
-            plugin.getLogger().severe("Erro ao salvar tokens.yml!");
-            e.printStackTrace();
-        }
     }
 
     /**
-     * Salva os itens comprados pelos jogadores no arquivo
+     * Envia as alterações pendentes para a thread de escrita do armazenamento
      */
-    public void saveItems() {
-        for (Map.Entry<UUID, List<String>> entry : playerItems.entrySet()) {
-            itemsConfig.set(entry.getKey().toString(), entry.getValue());
-        }
-
-        try {
-            itemsConfig.save(itemsFile);
-        } catch (IOException e) {
-            plugin.getLogger().severe("Erro ao salvar purchased-items.yml!");
-            e.printStackTrace();
-        }
+    public void saveData() {
+        plugin.getPlayerStorage().flush();
     }
 
     /**
@@ -170,13 +64,16 @@ public class RewardManager {
      * @param player O jogador
      * @param amount Quantidade de tokens a adicionar
      */
-    public void addTokens(Player player, int amount) {
-        UUID uuid = player.getUniqueId();
-        int currentTokens = getPlayerTokens(player);
-        playerTokens.put(uuid, currentTokens + amount);
+    public void addTokens(Player player, final int amount) {
+        final UUID uuid = player.getUniqueId();
+
+        // O saldo é gravado inteiro, então só depois de os dados do jogador estarem em cache
+        plugin.getPlayerDataManager().whenLoaded(uuid, data -> {
+            data.setTokens(data.getTokens() + amount);
 
-        // Salvar automaticamente
-        saveTokens();
+            // Gravado depois, junto com os outros saldos alterados
+            plugin.getPlayerStorage().setTokens(uuid, data.getTokens());
+        });
     }
 
     /**
@@ -187,17 +84,19 @@ public class RewardManager {
      * @return true se tiver tokens suficientes e a operação for bem sucedida
      */
     public boolean removeTokens(Player player, int amount) {
-        UUID uuid = player.getUniqueId();
-        int currentTokens = getPlayerTokens(player);
+        if (!plugin.getPlayerDataManager().isLoaded(player.getUniqueId())) {
+            return false; // Saldo ainda sendo lido
+        }
+        PlayerData data = plugin.getPlayerDataManager().get(player);
 
-        if (currentTokens < amount) {
+        if (data.getTokens() < amount) {
             return false; // Tokens insuficientes
         }
 
-        playerTokens.put(uuid, currentTokens - amount);
+        data.setTokens(data.getTokens() - amount);
 
-        // Salvar automaticamente
-        saveTokens();
+        // Gravado depois, junto com os outros saldos alterados
+        plugin.getPlayerStorage().setTokens(player.getUniqueId(), data.getTokens());
         return true;
     }
 
@@ -208,7 +107,7 @@ public class RewardManager {
      * @return Quantidade de tokens
      */
     public int getPlayerTokens(Player player) {
-        return playerTokens.getOrDefault(player.getUniqueId(), 0);
+        return plugin.getPlayerDataManager().get(player).getTokens();
     }
 
     /**
@@ -219,14 +118,7 @@ public class RewardManager {
      * @return true se o jogador possuir o item
      */
     public boolean hasItem(Player player, String itemId) {
-        UUID uuid = player.getUniqueId();
-        List<String> items = playerItems.getOrDefault(uuid, null);
-
-        if (items == null) {
-            return false;
-        }
-
-        return items.contains(itemId);
+        return plugin.getPlayerDataManager().get(player).hasItem(itemId);
     }
 
     /**
@@ -235,16 +127,13 @@ public class RewardManager {
      * @param player O jogador
      * @param itemId ID do item
      */
-    public void addPurchasedItem(Player player, String itemId) {
-        UUID uuid = player.getUniqueId();
-        List<String> items = playerItems.getOrDefault(uuid, new ArrayList<>());
-
-        if (!items.contains(itemId)) {
-            items.add(itemId);
-        }
-
-        playerItems.put(uuid, items);
-        saveItems();
+    public void addPurchasedItem(Player player, final String itemId) {
+        final UUID uuid = player.getUniqueId();
+        plugin.getPlayerDataManager().whenLoaded(uuid, data -> {
+            if (data.addItem(itemId)) {
+                plugin.getPlayerStorage().addItem(uuid, itemId);
+            }
+        });
     }
 
     /**
@@ -3,26 +3,220 @@ package com.br.gravitationalbattle.managers;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
-import org.bukkit.scoreboard.DisplaySlot;
-import org.bukkit.scoreboard.Objective;
-import org.bukkit.scoreboard.Score;
+import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scoreboard.Scoreboard;
 
 import com.br.gravitationalbattle.GravitationalBattle;
 import com.br.gravitationalbattle.game.Game;
+import com.br.gravitationalbattle.scoreboard.GameBoard;
+import com.br.gravitationalbattle.scoreboard.Sidebar;
+import com.br.gravitationalbattle.utils.Placeholders;
+import com.br.gravitationalbattle.utils.Template;
 
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.TextComponent;
+
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 public class ScoreboardManager {
 
     private final GravitationalBattle plugin;
-    private final Map<UUID, Scoreboard> playerScoreboards;
+    private static final String TITLE = ChatColor.GOLD + "Batalha Gravitacional";
+
+    // Linhas compiladas uma única vez; cada renderização só preenche os valores
+    private static final Template[] LOBBY_LINES = compileLines(
+            "&eNível: &f{level}",
+            "&ePrestígio: &f{prestige}",
+            "",
+            "&eMoedas: &f{tokens}",
+            "&eAbates: &f{total_kills}",
+            "&eVitórias: &f{total_wins}",
+            "",
+            "&fJogadores em Partida: &a{in_games}",
+            "",
+            "&epurplemc.net");
+
+    private static final Template[] WAITING_LINES = compileLines(
+            "&7Aguardando jogadores...",
+            "",
+            "&fModo: &a{mode}",
+            "&fJogadores: &a{players}",
+            "&fNecessário: &a{min_players}",
+            "",
+            "&eUse a cama para sair",
+            "",
+            "&epurplemc.net");
+
+    private static final Template[] STARTING_LINES = compileLines(
+            "&7Iniciando em &e{countdown}&7 segundos",
+            "",
+            "&fModo: &a{mode}",
+            "&fJogadores: &a{players}",
+            "",
+            "&eUse a cama para sair",
+            "",
+            "&epurplemc.net");
+
+    private static final Template[] INGAME_LINES = compileLines(
+            "&fJogadores Restantes: &a{remaining}",
+            "",
+            "&fModo: &a{mode}",
+            "&fTempo de Jogo: &a{time}",
+            "",
+            "&epurplemc.net");
+
+    private static final Template[] ENDING_LINES = compileLines(
+            "&7Jogo terminando...",
+            "",
+            "&fTempo de Jogo: &a{time}",
+            "",
+            "&epurplemc.net");
+
+    private static final Template[] FOOTER_LINES = compileLines(
+            "",
+            "&epurplemc.net");
+
+    // Sidebars pessoais só existem para jogadores no lobby
+    private final Map<UUID, Sidebar> playerSidebars;
+
+    // Um scoreboard por jogo, compartilhado por todos os seus jogadores
+    private final Map<Game, GameBoard> gameBoards;
+
+    // Espectadores presos ao scoreboard de um jogo (eles não são registrados como jogadores do jogo)
+    private final Map<UUID, Game> spectating;
+
+    // Jogos e jogadores aguardando renderização, em ordem de chegada e sem duplicatas
+    private final LinkedHashSet<Game> dirtyGames;
+    private final LinkedHashSet<UUID> dirtyPlayers;
+
+    // Reaproveitados a cada renderização (apenas na thread principal)
+    private final Placeholders placeholders;
+    private final StringBuilder lineBuffer;
+    private final List<String> lines;
 
     public ScoreboardManager(GravitationalBattle plugin) {
         this.plugin = plugin;
-        this.playerScoreboards = new HashMap<>();
+        this.playerSidebars = new HashMap<>();
+        this.gameBoards = new HashMap<>();
+        this.spectating = new HashMap<>();
+        this.dirtyGames = new LinkedHashSet<>();
+        this.dirtyPlayers = new LinkedHashSet<>();
+        this.placeholders = new Placeholders(plugin);
+        this.lineBuffer = new StringBuilder(64);
+        this.lines = new ArrayList<>(Sidebar.MAX_LINES);
+        startRenderTask();
+    }
+
+    private static Template[] compileLines(String... lines) {
+        Template[] templates = new Template[lines.length];
+        for (int i = 0; i < lines.length; i++) {
+            templates[i] = Template.compile(lines[i]);
+        }
+        return templates;
+    }
+
+    /**
+     * Renderiza as linhas compiladas na lista reaproveitada
+     */
+    private List<String> renderLines(Template[] templates) {
+        lines.clear();
+        for (Template template : templates) {
+            lines.add(template.render(lineBuffer, placeholders));
+        }
+        return lines;
+    }
+
+    /**
+     * Inicia a tarefa que renderiza os scoreboards pendentes a cada tick
+     */
+    private void startRenderTask() {
+        new BukkitRunnable() {
+            @Override
+            public void run() {
+                renderDirty(plugin.getConfigManager().getScoreboardUpdatesPerTick());
+            }
+        }.runTaskTimer(plugin, 1L, 1L);
+    }
+
+    /**
+     * Marca o scoreboard de um jogador para ser atualizado no próximo tick com orçamento livre.
+     * Várias marcações antes da renderização resultam em uma única atualização.
+     *
+     * @param player O jogador
+     */
+    public void markDirty(Player player) {
+        if (player != null) {
+            dirtyPlayers.add(player.getUniqueId());
+        }
+    }
+
+    /**
+     * Marca os scoreboards de todos os jogadores de um jogo para atualização
+     *
+     * @param game O jogo
+     */
+    public void markGameDirty(Game game) {
+        if (game == null) return;
+
+        // As linhas comuns são renderizadas uma vez; cada jogador só recebe seu overlay
+        dirtyGames.add(game);
+        dirtyPlayers.addAll(game.getPlayers());
+    }
+
+    /**
+     * Obtém a quantidade de scoreboards aguardando renderização
+     *
+     * @return Tamanho da fila
+     */
+    public int getPendingUpdates() {
+        return dirtyGames.size() + dirtyPlayers.size();
+    }
+
+    /**
+     * Renderiza no máximo {@code budget} scoreboards pendentes, os mais antigos primeiro
+     */
+    private void renderDirty(int budget) {
+        int rendered = 0;
+
+        // Scoreboards compartilhados primeiro, pois cada um atende vários jogadores
+        if (!dirtyGames.isEmpty()) {
+            Iterator<Game> games = dirtyGames.iterator();
+            while (games.hasNext() && rendered < budget) {
+                Game game = games.next();
+                games.remove();
+
+                // Jogos sem scoreboard ainda o criam quando o primeiro jogador for renderizado
+                GameBoard board = gameBoards.get(game);
+                if (board != null) {
+                    renderGameBoard(board, game);
+                    rendered++;
+                }
+            }
+        }
+
+        if (dirtyPlayers.isEmpty()) {
+            return;
+        }
+
+        Iterator<UUID> iterator = dirtyPlayers.iterator();
+        while (iterator.hasNext() && rendered < budget) {
+            UUID uuid = iterator.next();
+            iterator.remove();
+
+            Player player = Bukkit.getPlayer(uuid);
+            if (player == null || !player.isOnline()) {
+                continue;
+            }
+
+            updateScoreboard(player);
+            rendered++;
+        }
     }
 
     /**
@@ -33,6 +227,15 @@ public class ScoreboardManager {
     public void updateScoreboard(Player player) {
         Game game = plugin.getGameManager().getPlayerGame(player);
 
+        if (game == null) {
+            Game watched = spectating.get(player.getUniqueId());
+            if (watched != null) {
+                // Espectador: só o scoreboard do jogo, sem overlay pessoal
+                attach(player, getGameBoard(watched));
+                return;
+            }
+        }
+
         if (game != null) {
             // Jogador está em um jogo, mostre o scoreboard de jogo
             updateGameScoreboard(player, game);
@@ -48,81 +251,146 @@ public class ScoreboardManager {
      * @param player O jogador
      */
     public void updateLobbyScoreboard(Player player) {
-        Scoreboard scoreboard = getScoreboard(player);
-        Objective objective = getObjective(scoreboard, "lobby");
-
-        // Limpar scores anteriores
-        clearScores(objective);
-
-        // Definir título
-        objective.setDisplayName(ChatColor.GOLD + "Batalha Gravitacional");
-
-        // Use uma abordagem diferente para 1.8.8
-
-        setScore(objective, ChatColor.YELLOW + "Nível: " + ChatColor.WHITE + plugin.getLevelManager().getPlayerLevel(player), 13);
-        setScore(objective, ChatColor.YELLOW + "Prestígio: " + ChatColor.WHITE + plugin.getLevelManager().getPlayerPrestige(player), 12);
-        setScore(objective, "", 11);
-        setScore(objective, ChatColor.YELLOW + "Moedas: " + ChatColor.WHITE + plugin.getRewardManager().getPlayerTokens(player), 10);
-        setScore(objective, ChatColor.YELLOW + "Abates: " + ChatColor.WHITE + plugin.getStatsManager().getPlayerKills(player), 9);
-        setScore(objective, ChatColor.YELLOW + "Vitórias: " + ChatColor.WHITE + plugin.getStatsManager().getPlayerWins(player), 8);
-        setScore(objective, "", 7);
-        setScore(objective, ChatColor.WHITE + "Jogadores em Partida: " + ChatColor.GREEN + plugin.getGameManager().getTotalPlayersInGames(), 6);
-        setScore(objective, "", 5);
-        setScore(objective, ChatColor.YELLOW + "purplemc.net", 4);
-
-        // Aplicar scoreboard
-        player.setScoreboard(scoreboard);
+        placeholders.reset(player, null);
+        render(player, renderLines(LOBBY_LINES));
     }
 
     /**
-     * Atualiza o scoreboard de jogo para um jogador
+     * Atualiza o scoreboard de jogo para um jogador: as linhas comuns do jogo
+     * e o overlay pessoal (abates, habilidade, recompensas)
      *
      * @param player O jogador
      * @param game O jogo
      */
     public void updateGameScoreboard(Player player, Game game) {
-        Scoreboard scoreboard = getScoreboard(player);
-        Objective objective = getObjective(scoreboard, "game");
+        GameBoard board = getGameBoard(game);
+        attach(player, board);
 
-        // Limpar scores anteriores
-        clearScores(objective);
+        if (dirtyGames.remove(game)) {
+            renderGameBoard(board, game);
+        }
 
-        // Definir título
-        objective.setDisplayName(ChatColor.GOLD + "Batalha Gravitacional");
+        sendOverlay(player, game);
+    }
 
-        // Definir scores baseados no estado do jogo
+    /**
+     * Passa um espectador para o scoreboard compartilhado de um jogo, até ele voltar ao lobby
+     *
+     * @param player O espectador
+     * @param game O jogo assistido
+     */
+    public void attachSpectator(Player player, Game game) {
+        spectating.put(player.getUniqueId(), game);
+        dirtyPlayers.remove(player.getUniqueId());
+        attach(player, getGameBoard(game));
+    }
+
+    /**
+     * O jogador passa a usar o scoreboard do jogo; a sidebar pessoal do lobby não é mais necessária
+     */
+    private void attach(Player player, GameBoard board) {
+        if (player.getScoreboard() != board.getScoreboard()) {
+            Sidebar lobbySidebar = playerSidebars.remove(player.getUniqueId());
+            if (lobbySidebar != null) {
+                lobbySidebar.destroy();
+            }
+            player.setScoreboard(board.getScoreboard());
+        }
+    }
+
+    /**
+     * Obtém o scoreboard compartilhado de um jogo, criando se necessário
+     *
+     * @param game O jogo
+     * @return O scoreboard do jogo
+     */
+    public GameBoard getGameBoard(Game game) {
+        GameBoard board = gameBoards.get(game);
+        if (board == null) {
+            board = new GameBoard(TITLE);
+            gameBoards.put(game, board);
+            renderGameBoard(board, game);
+        }
+        return board;
+    }
+
+    /**
+     * Remove o scoreboard compartilhado de um jogo encerrado
+     *
+     * @param game O jogo
+     */
+    public void removeGame(Game game) {
+        dirtyGames.remove(game);
+
+        // Espectadores que ainda estiverem no scoreboard do jogo voltam para a sidebar do lobby
+        Iterator<Map.Entry<UUID, Game>> watchers = spectating.entrySet().iterator();
+        while (watchers.hasNext()) {
+            Map.Entry<UUID, Game> entry = watchers.next();
+            if (entry.getValue() != game) continue;
+            watchers.remove();
+
+            Player player = Bukkit.getPlayer(entry.getKey());
+            if (player != null && player.isOnline()) {
+                updateLobbyScoreboard(player);
+            }
+        }
+
+        GameBoard board = gameBoards.remove(game);
+        if (board != null) {
+            board.destroy();
+        }
+    }
+
+    /**
+     * Renderiza as linhas comuns a todos os jogadores de um jogo
+     */
+    private void renderGameBoard(GameBoard board, Game game) {
+        Template[] templates;
+
+        // Definir linhas baseadas no estado do jogo
         switch (game.getState()) {
             case WAITING:
-                setScore(objective, ChatColor.GRAY + "Aguardando jogadores...", 15);
-                setScore(objective, "", 14);
-                setScore(objective, ChatColor.WHITE + "Modo: " + ChatColor.GREEN + game.getGameMode().getDisplayName(), 13);
-                setScore(objective, ChatColor.WHITE + "Jogadores: " + ChatColor.GREEN + game.getPlayerCount() + "/" + game.getArena().getMaxPlayers(), 12);
-                setScore(objective, ChatColor.WHITE + "Necessário: " + ChatColor.GREEN + game.getArena().getMinPlayers(), 11);
-                setScore(objective, "", 10);
-                setScore(objective, ChatColor.YELLOW + "Use a cama para sair", 9);
+                templates = WAITING_LINES;
                 break;
 
             case STARTING:
             case COUNTDOWN:
-                setScore(objective, ChatColor.GRAY + "Iniciando em " + ChatColor.YELLOW + game.getCountdown() + ChatColor.GRAY + " segundos", 15);
-                setScore(objective, "", 14);
-                setScore(objective, ChatColor.WHITE + "Modo: " + ChatColor.GREEN + game.getGameMode().getDisplayName(), 13);
-                setScore(objective, ChatColor.WHITE + "Jogadores: " + ChatColor.GREEN + game.getPlayerCount() + "/" + game.getArena().getMaxPlayers(), 12);
-                setScore(objective, "", 11);
-                setScore(objective, ChatColor.YELLOW + "Use a cama para sair", 10);
+                templates = STARTING_LINES;
                 break;
 
             case INGAME:
-                setScore(objective, ChatColor.WHITE + "Jogadores Restantes: " + ChatColor.GREEN + game.getAliveCount(), 15);
-                setScore(objective, "", 14);
-                setScore(objective, ChatColor.WHITE + "Modo: " + ChatColor.GREEN + game.getGameMode().getDisplayName(), 13);
-                setScore(objective, ChatColor.WHITE + "Abates: " + ChatColor.GREEN + game.getPlayerKills(player), 12);
+                templates = INGAME_LINES;
+                break;
+
+            case ENDING:
+                templates = ENDING_LINES;
+                break;
+
+            default:
+                templates = FOOTER_LINES;
+                break;
+        }
+
+        placeholders.reset(null, game);
+        board.getSidebar().setLines(renderLines(templates));
+    }
+
+    /**
+     * Envia as linhas pessoais do jogador na action bar
+     */
+    private void sendOverlay(Player player, Game game) {
+        String overlay;
+
+        switch (game.getState()) {
+            case INGAME:
+                StringBuilder builder = new StringBuilder();
+                builder.append(ChatColor.WHITE).append("Abates: ").append(ChatColor.GREEN).append(game.getPlayerKills(player));
 
                 // Mostrar equipe se estiver em modo de equipes
                 if (game.getGameMode().isTeamBased()) {
                     com.br.gravitationalbattle.game.Team team = game.getPlayerTeam(player);
                     if (team != null) {
-                        setScore(objective, ChatColor.WHITE + "Equipe: " + team.getColoredName(), 11);
+                        builder.append(ChatColor.DARK_GRAY).append(" | ").append(ChatColor.WHITE).append("Equipe: ").append(team.getColoredName());
                     }
                 }
 
@@ -130,97 +398,57 @@ public class ScoreboardManager {
                 String ability = plugin.getAbilityManager().getActiveAbility(player);
                 if (ability != null) {
                     int cooldown = plugin.getAbilityManager().getCooldown(player);
+                    builder.append(ChatColor.DARK_GRAY).append(" | ").append(ChatColor.WHITE).append("Habilidade: ");
                     if (cooldown > 0) {
-                        setScore(objective, ChatColor.WHITE + "Habilidade: " + ChatColor.RED + cooldown + "s", 10);
+                        builder.append(ChatColor.RED).append(cooldown).append('s');
                     } else {
-                        setScore(objective, ChatColor.WHITE + "Habilidade: " + ChatColor.GREEN + "Pronta", 10);
+                        builder.append(ChatColor.GREEN).append("Pronta");
                     }
                 }
-
-                setScore(objective, ChatColor.WHITE + "Tempo de Jogo: " + ChatColor.GREEN + formatTime(game.getGameTime()), 9);
+                overlay = builder.toString();
                 break;
 
             case ENDING:
-                setScore(objective, ChatColor.GRAY + "Jogo terminando...", 15);
-
                 // Mostrar ganhos da partida
-                setScore(objective, "", 14);
-                setScore(objective, ChatColor.WHITE + "Moedas ganhas: " + ChatColor.GOLD + game.getPlayerReward(player), 13);
-                setScore(objective, ChatColor.WHITE + "XP ganho: " + ChatColor.AQUA + game.getPlayerXP(player), 12);
+                overlay = ChatColor.WHITE + "Moedas ganhas: " + ChatColor.GOLD + game.getPlayerReward(player) +
+                        ChatColor.DARK_GRAY + " | " + ChatColor.WHITE + "XP ganho: " + ChatColor.AQUA + game.getPlayerXP(player);
                 break;
 
             default:
-                break;
+                return;
         }
 
-        // Rodapé comum
-        setScore(objective, "", 5);
-        setScore(objective, ChatColor.YELLOW + "purplemc.net", 4);
-
-        // Aplicar scoreboard
-        player.setScoreboard(scoreboard);
+        player.spigot().sendMessage(ChatMessageType.ACTION_BAR, TextComponent.fromLegacyText(overlay));
     }
 
     /**
-     * Formata o tempo em segundos para MM:SS
-     *
-     * @param seconds Tempo em segundos
-     * @return Tempo formatado
+     * Envia as linhas para a sidebar do jogador; só as linhas alteradas geram pacotes
      */
-    private String formatTime(int seconds) {
-        int minutes = seconds / 60;
-        int remainingSeconds = seconds % 60;
-        return String.format("%02d:%02d", minutes, remainingSeconds);
+    private void render(Player player, List<String> lines) {
+        Sidebar sidebar = getSidebar(player);
+        sidebar.setTitle(TITLE);
+        sidebar.setLines(lines);
+
+        // Trocar o scoreboard do cliente reenvia tudo, então só quando necessário
+        if (player.getScoreboard() != sidebar.getScoreboard()) {
+            player.setScoreboard(sidebar.getScoreboard());
+        }
     }
 
     /**
-     * Obtém um scoreboard para um jogador, criando se necessário
+     * Obtém a sidebar de um jogador, criando se necessário
      */
-    private Scoreboard getScoreboard(Player player) {
+    private Sidebar getSidebar(Player player) {
         UUID uuid = player.getUniqueId();
 
-        if (!playerScoreboards.containsKey(uuid)) {
+        Sidebar sidebar = playerSidebars.get(uuid);
+        if (sidebar == null) {
             Scoreboard scoreboard = Bukkit.getScoreboardManager().getNewScoreboard();
-            playerScoreboards.put(uuid, scoreboard);
-            return scoreboard;
+            sidebar = new Sidebar(scoreboard, "sidebar");
+            playerSidebars.put(uuid, sidebar);
         }
 
-        return playerScoreboards.get(uuid);
-    }
-
-    /**
-     * Obtém um objetivo para um scoreboard, criando se necessário
-     */
-    private Objective getObjective(Scoreboard scoreboard, String name) {
-        Objective objective = scoreboard.getObjective(name);
-
-        if (objective == null) {
-            // No 1.8.8 o construtor é diferente
-            objective = scoreboard.registerNewObjective(name, "dummy");
-            objective.setDisplaySlot(DisplaySlot.SIDEBAR);
-        }
-
-        return objective;
-    }
-
-    /**
-     * Limpa todos os scores de um objetivo
-     */
-    private void clearScores(Objective objective) {
-        Scoreboard scoreboard = objective.getScoreboard();
-
-        // No 1.8.8, precisamos lidar com isso de maneira diferente
-        for (String entry : scoreboard.getEntries()) {
-            scoreboard.resetScores(entry);
-        }
-    }
-
-    /**
-     * Define um score no objetivo
-     */
-    private void setScore(Objective objective, String text, int value) {
-        Score score = objective.getScore(text);
-        score.setScore(value);
+        return sidebar;
     }
 
     /**
@@ -229,12 +457,9 @@ public class ScoreboardManager {
      * @param player O jogador
      */
     public void setLobbyScoreboard(Player player) {
-        // Remover qualquer scoreboard anterior
-        if (playerScoreboards.containsKey(player.getUniqueId())) {
-            playerScoreboards.remove(player.getUniqueId());
-        }
+        spectating.remove(player.getUniqueId());
 
-        // Criar uma nova scoreboard limpa
+        // A sidebar é reaproveitada: só as linhas que mudaram são enviadas
         updateLobbyScoreboard(player);
     }
 
@@ -244,7 +469,13 @@ public class ScoreboardManager {
      * @param player O jogador
      */
     public void removePlayer(Player player) {
-        playerScoreboards.remove(player.getUniqueId());
+        dirtyPlayers.remove(player.getUniqueId());
+        spectating.remove(player.getUniqueId());
+
+        Sidebar sidebar = playerSidebars.remove(player.getUniqueId());
+        if (sidebar != null) {
+            sidebar.destroy();
+        }
         player.setScoreboard(Bukkit.getScoreboardManager().getMainScoreboard());
     }
 
@@ -253,7 +484,7 @@ public class ScoreboardManager {
      */
     public void updateAllScoreboards() {
         for (Player player : Bukkit.getOnlinePlayers()) {
-            updateScoreboard(player);
+            markDirty(player);
         }
     }
 
@@ -263,36 +494,7 @@ public class ScoreboardManager {
      * @param game O jogo
      */
     public void updateGameScoreboards(Game game) {
-        if (game == null) return;
-
-        for (UUID playerId : game.getPlayers()) {
-            Player player = Bukkit.getPlayer(playerId);
-            if (player != null && player.isOnline()) {
-                updateGameScoreboard(player, game);
-            }
-        }
-    }
-
-    /**
-     * Configura o objetivo de saúde para mostrar saúde dos jogadores acima da cabeça
-     *
-     * @param player O jogador
-     * @param scoreboard O scoreboard
-     */
-    public void setupHealthObjective(Player player, Scoreboard scoreboard) {
-        // Remover objetivo existente se necessário
-        Objective healthObj = scoreboard.getObjective("health");
-        if (healthObj != null) {
-            healthObj.unregister();
-        }
-
-        // Criar novo objetivo de saúde
-        healthObj = scoreboard.registerNewObjective("health", "health");
-        healthObj.setDisplaySlot(DisplaySlot.BELOW_NAME);
-        healthObj.setDisplayName("❤");
-
-        // Aplicar ao jogador
-        player.setScoreboard(scoreboard);
+        markGameDirty(game);
     }
 
     /**
@@ -301,7 +503,7 @@ public class ScoreboardManager {
      */
     public void clearAll() {
         // Restaurar scoreboard padrão para todos os jogadores
-        for (UUID uuid : playerScoreboards.keySet()) {
+        for (UUID uuid : playerSidebars.keySet()) {
             Player player = Bukkit.getPlayer(uuid);
             if (player != null && player.isOnline()) {
                 player.setScoreboard(Bukkit.getScoreboardManager().getMainScoreboard());
@@ -309,6 +511,13 @@ public class ScoreboardManager {
         }
 
         // Limpar mapa de scoreboards
-        playerScoreboards.clear();
+        playerSidebars.clear();
+        for (GameBoard board : gameBoards.values()) {
+            board.destroy();
+        }
+        gameBoards.clear();
+        dirtyGames.clear();
+        dirtyPlayers.clear();
+        spectating.clear();
     }
 }
\ No newline at end of file
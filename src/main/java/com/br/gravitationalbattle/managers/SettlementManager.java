@@ -0,0 +1,101 @@
+package com.br.gravitationalbattle.managers;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import com.br.gravitationalbattle.GravitationalBattle;
+import com.br.gravitationalbattle.storage.PlayerData;
+import com.br.gravitationalbattle.storage.PlayerStorage;
+import com.br.gravitationalbattle.storage.Settlement;
+
+/**
+ * Liquida as partidas encerradas: aplica todos os créditos (estatísticas, tokens e XP)
+ * de uma vez nos dados em cache e envia a liquidação inteira ao armazenamento, em um só
+ * lote. Só o SQLite grava tudo em uma única transação (ver {@link PlayerStorage#settle}).
+ * Jogadores que saíram e já não estão em cache são lidos antes em segundo plano; a
+ * liquidação só é aplicada quando todos estiverem em cache, sem bloquear o tick.
+ */
+public class SettlementManager {
+
+    // Quantas partidas recentes são lembradas (bem mais do que jogos simultâneos)
+    private static final int REMEMBERED = 64;
+
+    private final GravitationalBattle plugin;
+
+    // Partidas liquidadas recentemente, para nunca somar a mesma partida duas vezes nos dados em cache
+    // (o armazenamento registra os ids por conta própria)
+    private final Set<UUID> settled;
+
+    public SettlementManager(GravitationalBattle plugin) {
+        this.plugin = plugin;
+        this.settled = Collections.newSetFromMap(new LinkedHashMap<UUID, Boolean>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Boolean> eldest) {
+                return size() > REMEMBERED;
+            }
+        });
+    }
+
+    /**
+     * Aplica e grava os créditos de uma partida, assim que os dados de todos os jogadores estiverem em cache
+     *
+     * @param settlement Os créditos da partida
+     * @return false se a liquidação já tinha sido aplicada
+     */
+    public boolean settle(final Settlement settlement) {
+        if (!settled.add(settlement.getId())) {
+            return false;
+        }
+
+        final List<Settlement.Credit> credits = settlement.getCredits();
+        final PlayerData[] loaded = new PlayerData[credits.size()];
+        final int[] remaining = {credits.size()};
+        if (credits.isEmpty()) {
+            apply(settlement, loaded);
+            return true;
+        }
+
+        for (int i = 0; i < credits.size(); i++) {
+            final int index = i;
+            plugin.getPlayerDataManager().whenLoaded(credits.get(i).getUuid(), data -> {
+                loaded[index] = data;
+                if (--remaining[0] == 0) {
+                    apply(settlement, loaded);
+                }
+            });
+        }
+        return true;
+    }
+
+    /**
+     * Aplica os créditos nos dados em cache e envia a liquidação ao armazenamento
+     *
+     * @param loaded Os dados de cada jogador creditado, na ordem dos créditos
+     */
+    private void apply(Settlement settlement, PlayerData[] loaded) {
+        List<Settlement.Credit> credits = settlement.getCredits();
+        for (int i = 0; i < credits.size(); i++) {
+            Settlement.Credit credit = credits.get(i);
+            PlayerData data = loaded[i];
+            data.addStat(PlayerStorage.WINS, credit.getWins());
+            data.addStat(PlayerStorage.GAMES_PLAYED, credit.getGamesPlayed());
+            data.setTokens(data.getTokens() + credit.getTokens());
+            plugin.getLeaderboardManager().update(data);
+
+            // O XP fica com o LevelManager, fora do armazenamento dos jogadores
+            Player player = Bukkit.getPlayer(credit.getUuid());
+            if (player != null && credit.getXP() > 0) {
+                plugin.getLevelManager().addXP(player, credit.getXP());
+            }
+        }
+
+        plugin.getPlayerStorage().settle(settlement);
+    }
+}
@@ -1,36 +1,23 @@
 package com.br.gravitationalbattle.managers;
 
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
+import java.util.UUID;
+
 import org.bukkit.entity.Player;
 
 import com.br.gravitationalbattle.GravitationalBattle;
+import com.br.gravitationalbattle.storage.PlayerData;
+import com.br.gravitationalbattle.storage.PlayerStorage;
 
-import java.io.File;
-import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
-
+/**
+ * Reads and changes player stats through the {@link PlayerDataManager} cache; every
+ * change is also sent to the plugin's {@link PlayerStorage} as a row-level delta.
+ */
 public class StatsManager {
 
     private final GravitationalBattle plugin;
-    private File statsFile;
-    private FileConfiguration statsConfig;
-
-    private Map<UUID, Integer> playerKills;
-    private Map<UUID, Integer> playerDeaths;
-    private Map<UUID, Integer> playerWins;
-    private Map<UUID, Integer> playerGamesPlayed;
 
     public StatsManager(GravitationalBattle plugin) {
         this.plugin = plugin;
-        this.playerKills = new HashMap<>();
-        this.playerDeaths = new HashMap<>();
-        this.playerWins = new HashMap<>();
-        this.playerGamesPlayed = new HashMap<>();
-
-        loadStats();
     }
 
     /**
@@ -42,9 +29,7 @@ public class StatsManager {
     public void addKills(Player player, int kills) {
         if (player == null || kills <= 0) return;
 
-        UUID uuid = player.getUniqueId();
-        int currentKills = playerKills.getOrDefault(uuid, 0);
-        playerKills.put(uuid, currentKills + kills);
+        record(player, PlayerStorage.KILLS, kills);
     }
 
     /**
@@ -64,9 +49,7 @@ public class StatsManager {
     public void addDeath(Player player) {
         if (player == null) return;
 
-        UUID uuid = player.getUniqueId();
-        int currentDeaths = playerDeaths.getOrDefault(uuid, 0);
-        playerDeaths.put(uuid, currentDeaths + 1);
+        record(player, PlayerStorage.DEATHS, 1);
     }
 
     /**
@@ -77,9 +60,7 @@ public class StatsManager {
     public void addWin(Player player) {
         if (player == null) return;
 
-        UUID uuid = player.getUniqueId();
-        int currentWins = playerWins.getOrDefault(uuid, 0);
-        playerWins.put(uuid, currentWins + 1);
+        record(player, PlayerStorage.WINS, 1);
     }
 
     /**
@@ -90,9 +71,28 @@ public class StatsManager {
     public void addGamePlayed(Player player) {
         if (player == null) return;
 
-        UUID uuid = player.getUniqueId();
-        int currentGamesPlayed = playerGamesPlayed.getOrDefault(uuid, 0);
-        playerGamesPlayed.put(uuid, currentGamesPlayed + 1);
+        record(player, PlayerStorage.GAMES_PLAYED, 1);
+    }
+
+    /**
+     * Applies a change to the cached stats, sends it to the storage and re-ranks the player
+     */
+    private void record(Player player, final byte stat, final int delta) {
+        final UUID uuid = player.getUniqueId();
+
+        // Applied once the data is cached, so a background read never misses or repeats the change
+        plugin.getPlayerDataManager().whenLoaded(uuid, data -> {
+            data.addStat(stat, delta);
+            plugin.getPlayerStorage().addStat(uuid, stat, delta);
+            plugin.getLeaderboardManager().update(data);
+        });
+    }
+
+    private int getStat(Player player, byte stat) {
+        if (player == null) return 0;
+
+        PlayerData data = plugin.getPlayerDataManager().get(player);
+        return data.getStat(stat);
     }
 
     /**
@@ -102,10 +102,7 @@ public class StatsManager {
      * @return Number of kills
      */
     public int getPlayerKills(Player player) {
-        if (player == null) return 0;
-
-        UUID uuid = player.getUniqueId();
-        return playerKills.getOrDefault(uuid, 0);
+        return getStat(player, PlayerStorage.KILLS);
     }
 
     /**
@@ -115,10 +112,7 @@ public class StatsManager {
      * @return Number of deaths
      */
     public int getPlayerDeaths(Player player) {
-        if (player == null) return 0;
-
-        UUID uuid = player.getUniqueId();
-        return playerDeaths.getOrDefault(uuid, 0);
+        return getStat(player, PlayerStorage.DEATHS);
     }
 
     /**
@@ -128,10 +122,7 @@ public class StatsManager {
      * @return Number of wins
      */
     public int getPlayerWins(Player player) {
-        if (player == null) return 0;
-
-        UUID uuid = player.getUniqueId();
-        return playerWins.getOrDefault(uuid, 0);
+        return getStat(player, PlayerStorage.WINS);
     }
 
     /**
@@ -141,10 +132,7 @@ public class StatsManager {
      * @return Number of games played
      */
     public int getPlayerGamesPlayed(Player player) {
-        if (player == null) return 0;
-
-        UUID uuid = player.getUniqueId();
-        return playerGamesPlayed.getOrDefault(uuid, 0);
+        return getStat(player, PlayerStorage.GAMES_PLAYED);
     }
 
     /**
@@ -167,75 +155,9 @@ public class StatsManager {
     }
 
     /**
-     * Loads player stats from file
-     */
-    public void loadStats() {
-        statsFile = new File(plugin.getDataFolder(), "stats.yml");
-
-        if (!statsFile.exists()) {
-            try {
-                statsFile.createNewFile();
-            } catch (IOException e) {
-                plugin.getLogger().severe("Could not create stats.yml file!");
-                e.printStackTrace();
-                return;
-            }
-        }
-
-        statsConfig = YamlConfiguration.loadConfiguration(statsFile);
-
-        // Load player stats
-        if (statsConfig.contains("players")) {
-            for (String uuidString : statsConfig.getConfigurationSection("players").getKeys(false)) {
-                try {
-                    UUID uuid = UUID.fromString(uuidString);
-                    playerKills.put(uuid, statsConfig.getInt("players." + uuidString + ".kills", 0));
-                    playerDeaths.put(uuid, statsConfig.getInt("players." + uuidString + ".deaths", 0));
-                    playerWins.put(uuid, statsConfig.getInt("players." + uuidString + ".wins", 0));
-                    playerGamesPlayed.put(uuid, statsConfig.getInt("players." + uuidString + ".gamesPlayed", 0));
-                } catch (IllegalArgumentException e) {
-                    plugin.getLogger().warning("Invalid UUID in stats.yml: " + uuidString);
-                }
-            }
-        }
-    }
-
-    /**
-     * Saves player stats to file
+     * Saves player stats: hands pending changes to the storage's writer thread
      */
     public void saveStats() {
-        if (statsConfig == null || statsFile == null) {
-            loadStats();
-        }
-
-        // Clear current stats in config
-        statsConfig.set("players", null);
-
-        // Save kills
-        for (Map.Entry<UUID, Integer> entry : playerKills.entrySet()) {
-            statsConfig.set("players." + entry.getKey().toString() + ".kills", entry.getValue());
-        }
-
-        // Save deaths
-        for (Map.Entry<UUID, Integer> entry : playerDeaths.entrySet()) {
-            statsConfig.set("players." + entry.getKey().toString() + ".deaths", entry.getValue());
-        }
-
-        // Save wins
-        for (Map.Entry<UUID, Integer> entry : playerWins.entrySet()) {
-            statsConfig.set("players." + entry.getKey().toString() + ".wins", entry.getValue());
-        }
-
-        // Save games played
-        for (Map.Entry<UUID, Integer> entry : playerGamesPlayed.entrySet()) {
-            statsConfig.set("players." + entry.getKey().toString() + ".gamesPlayed", entry.getValue());
-        }
-
-        try {
-            statsConfig.save(statsFile);
-        } catch (IOException e) {
-            plugin.getLogger().severe("Could not save stats to stats.yml!");
-            e.printStackTrace();
-        }
+        plugin.getPlayerStorage().flush();
     }
 }
\ No newline at end of file
@@ -0,0 +1,225 @@
+package com.br.gravitationalbattle.managers;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import com.br.gravitationalbattle.GravitationalBattle;
+
+/**
+ * Fila central de teleportes.
+ * <p>
+ * Os teleportes são feitos em ordem de chegada, no máximo teleport.per-tick por tick, para
+ * que o fim de uma partida não teleporte todos os jogadores no mesmo tick. Com o Multiverse,
+ * um destino em chunk ainda não carregado é feito em duas etapas (spawn do mundo e, meio
+ * segundo depois, o destino); com o chunk carregado, vai direto. Um novo teleporte de um
+ * jogador que ainda está na fila só troca o destino.
+ */
+public class TeleportManager {
+
+    // Espera entre as duas etapas de um teleporte pelo spawn do mundo
+    private static final long HOP_DELAY_TICKS = 10;
+
+    private final GravitationalBattle plugin;
+
+    // Teleportes pendentes, por jogador e em ordem de chegada
+    private final Map<UUID, Request> pending;
+    private final Deque<Request> queue;
+
+    private BukkitTask task;
+    private long currentTick;
+
+    // Métricas desde que o plugin foi ativado
+    private int maxDepth;
+    private long completed;
+    private long totalLatencyNanos;
+    private long maxLatencyNanos;
+
+    public TeleportManager(GravitationalBattle plugin) {
+        this.plugin = plugin;
+        this.pending = new HashMap<>();
+        this.queue = new ArrayDeque<>();
+    }
+
+    /**
+     * Coloca um teleporte na fila
+     *
+     * @param player O jogador
+     * @param destination O destino
+     */
+    public void teleport(Player player, Location destination) {
+        if (player == null || destination == null || destination.getWorld() == null) {
+            plugin.getLogger().warning("Tentativa de teleporte com player ou localização inválidos");
+            return;
+        }
+
+        Request request = pending.get(player.getUniqueId());
+        if (request != null) {
+            // Já está na fila: vale o destino mais recente, sem perder o lugar
+            request.destination = destination.clone();
+            request.hopped = false;
+            request.notBefore = 0;
+            return;
+        }
+
+        if (!plugin.isEnabled()) {
+            // Plugin sendo desativado: sem tarefas, teleportar agora
+            player.teleport(destination);
+            return;
+        }
+
+        request = new Request(player.getUniqueId(), destination.clone());
+        pending.put(request.uuid, request);
+        queue.add(request);
+        maxDepth = Math.max(maxDepth, queue.size());
+
+        if (task == null) {
+            task = new BukkitRunnable() {
+                @Override
+                public void run() {
+                    currentTick++;
+                    process(plugin.getConfigManager().getTeleportsPerTick());
+                }
+            }.runTaskTimer(plugin, 1L, 1L);
+        }
+    }
+
+    /**
+     * Obtém quantos teleportes estão esperando na fila
+     *
+     * @return Tamanho atual da fila
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Obtém o maior tamanho que a fila já teve
+     *
+     * @return Maior tamanho da fila
+     */
+    public int getMaxQueueDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Obtém quantos teleportes foram concluídos
+     *
+     * @return Teleportes concluídos
+     */
+    public long getCompletedCount() {
+        return completed;
+    }
+
+    /**
+     * Obtém o tempo médio entre pedir um teleporte e concluí-lo
+     *
+     * @return Latência média em nanossegundos
+     */
+    public long getAverageLatencyNanos() {
+        return completed == 0 ? 0 : totalLatencyNanos / completed;
+    }
+
+    /**
+     * Obtém o maior tempo entre pedir um teleporte e concluí-lo
+     *
+     * @return Latência máxima em nanossegundos
+     */
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos;
+    }
+
+    /**
+     * Faz todos os teleportes pendentes de uma vez e para a fila (ao desativar o plugin)
+     */
+    public void shutdown() {
+        for (Request request : queue) {
+            request.notBefore = 0;
+            request.hopped = true;
+        }
+        process(Integer.MAX_VALUE);
+
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Faz até budget teleportes da fila
+     */
+    private void process(int budget) {
+        int remaining = queue.size();
+        while (budget > 0 && remaining-- > 0) {
+            Request request = queue.poll();
+
+            // Esperando a segunda etapa: volta para o fim da fila sem gastar o limite
+            if (request.notBefore > currentTick) {
+                queue.add(request);
+                continue;
+            }
+
+            Player player = Bukkit.getPlayer(request.uuid);
+            if (player == null || !player.isOnline()) {
+                pending.remove(request.uuid);
+                continue;
+            }
+            budget--;
+
+            Location destination = request.destination;
+            World world = destination.getWorld();
+            boolean loaded = world.isChunkLoaded(destination.getBlockX() >> 4, destination.getBlockZ() >> 4);
+
+            if (!loaded && !request.hopped && Bukkit.getPluginManager().getPlugin("Multiverse-Core") != null) {
+                // Primeiro para o spawn do mundo, depois para o destino
+                player.teleport(world.getSpawnLocation());
+                request.hopped = true;
+                request.notBefore = currentTick + HOP_DELAY_TICKS;
+                queue.add(request);
+                continue;
+            }
+
+            pending.remove(request.uuid);
+            if (!player.teleport(destination)) {
+                plugin.getLogger().warning("Teleporte de " + player.getName() + " para " + world.getName() + " falhou");
+            }
+
+            long latency = System.nanoTime() - request.requestedAt;
+            completed++;
+            totalLatencyNanos += latency;
+            maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+        }
+
+        if (queue.isEmpty() && task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Um teleporte na fila
+     */
+    private static final class Request {
+
+        final UUID uuid;
+        final long requestedAt;
+        Location destination;
+        boolean hopped;
+        long notBefore;
+
+        Request(UUID uuid, Location destination) {
+            this.uuid = uuid;
+            this.destination = destination;
+            this.requestedAt = System.nanoTime();
+        }
+    }
+}
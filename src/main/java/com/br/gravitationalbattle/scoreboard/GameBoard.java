@@ -0,0 +1,69 @@
+package com.br.gravitationalbattle.scoreboard;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.scoreboard.DisplaySlot;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+
+/**
+ * Scoreboard compartilhado por todos os jogadores de um jogo.
+ * Contém a sidebar com as linhas comuns e a vida abaixo do nome dos jogadores;
+ * linhas pessoais são mostradas separadamente, como overlay na action bar.
+ */
+public class GameBoard {
+
+    private final Scoreboard scoreboard;
+    private final Sidebar sidebar;
+    private final Objective healthObjective;
+
+    /**
+     * Cria o scoreboard de um jogo
+     *
+     * @param title Título da sidebar
+     */
+    public GameBoard(String title) {
+        this.scoreboard = Bukkit.getScoreboardManager().getNewScoreboard();
+        this.sidebar = new Sidebar(scoreboard, "game");
+        this.sidebar.setTitle(title);
+
+        // Critério "health": o próprio servidor atualiza a pontuação quando a vida muda
+        this.healthObjective = scoreboard.registerNewObjective("health", "health", ChatColor.RED + "❤");
+        this.healthObjective.setDisplaySlot(DisplaySlot.BELOW_NAME);
+    }
+
+    /**
+     * Obtém o scoreboard compartilhado
+     *
+     * @return O scoreboard
+     */
+    public Scoreboard getScoreboard() {
+        return scoreboard;
+    }
+
+    /**
+     * Obtém a sidebar com as linhas comuns do jogo
+     *
+     * @return A sidebar
+     */
+    public Sidebar getSidebar() {
+        return sidebar;
+    }
+
+    /**
+     * Obtém o objetivo de vida exibido abaixo do nome
+     *
+     * @return O objetivo de vida
+     */
+    public Objective getHealthObjective() {
+        return healthObjective;
+    }
+
+    /**
+     * Libera os objetivos e times do scoreboard
+     */
+    public void destroy() {
+        sidebar.destroy();
+        healthObjective.unregister();
+    }
+}
@@ -0,0 +1,166 @@
+package com.br.gravitationalbattle.scoreboard;
+
+import java.util.List;
+
+import org.bukkit.ChatColor;
+import org.bukkit.scoreboard.DisplaySlot;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+
+/**
+ * Sidebar com linhas estáveis: cada linha tem uma entrada invisível fixa e um time
+ * cujo prefixo/sufixo carrega o texto. Atualizar só envia as linhas que mudaram.
+ */
+public class Sidebar {
+
+    public static final int MAX_LINES = 15;
+
+    private static final int PART_LENGTH = 64;
+    private static final String TEAM_PREFIX = "gb-line-";
+
+    private final Scoreboard scoreboard;
+    private final Objective objective;
+    private final String[] entries;
+    private final String[] current;
+    private String title;
+    private int lineCount;
+
+    /**
+     * Cria uma sidebar em um scoreboard
+     *
+     * @param scoreboard O scoreboard que vai exibir a sidebar
+     * @param objectiveName Nome do objetivo da sidebar
+     */
+    public Sidebar(Scoreboard scoreboard, String objectiveName) {
+        this.scoreboard = scoreboard;
+        this.entries = new String[MAX_LINES];
+        this.current = new String[MAX_LINES];
+        this.lineCount = 0;
+
+        Objective existing = scoreboard.getObjective(objectiveName);
+        if (existing != null) {
+            existing.unregister();
+        }
+        this.objective = scoreboard.registerNewObjective(objectiveName, "dummy", objectiveName);
+        this.objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+
+        // Uma entrada única e invisível por linha (código de cor + reset)
+        ChatColor[] colors = ChatColor.values();
+        for (int i = 0; i < MAX_LINES; i++) {
+            entries[i] = colors[i].toString() + ChatColor.RESET;
+
+            Team team = scoreboard.getTeam(TEAM_PREFIX + i);
+            if (team == null) {
+                team = scoreboard.registerNewTeam(TEAM_PREFIX + i);
+            }
+            team.addEntry(entries[i]);
+        }
+    }
+
+    /**
+     * Obtém o scoreboard desta sidebar
+     *
+     * @return O scoreboard
+     */
+    public Scoreboard getScoreboard() {
+        return scoreboard;
+    }
+
+    /**
+     * Define o título, só enviando se mudou
+     *
+     * @param title Novo título
+     */
+    public void setTitle(String title) {
+        if (title.equals(this.title)) {
+            return;
+        }
+
+        this.title = title;
+        objective.setDisplayName(title);
+    }
+
+    /**
+     * Define as linhas de cima para baixo, enviando apenas as diferenças
+     *
+     * @param lines Linhas (no máximo {@link #MAX_LINES}, o excesso é ignorado)
+     */
+    public void setLines(List<String> lines) {
+        int newCount = Math.min(lines.size(), MAX_LINES);
+
+        for (int i = 0; i < newCount; i++) {
+            String text = lines.get(i);
+            if (text == null) {
+                text = "";
+            }
+
+            if (!text.equals(current[i])) {
+                setLineText(i, text);
+                current[i] = text;
+            }
+
+            // Linha nova: o placar é fixo por posição, então só é enviado uma vez
+            if (i >= lineCount) {
+                objective.getScore(entries[i]).setScore(MAX_LINES - i);
+            }
+        }
+
+        // Esconder linhas que sobraram
+        for (int i = newCount; i < lineCount; i++) {
+            scoreboard.resetScores(entries[i]);
+        }
+
+        lineCount = newCount;
+    }
+
+    private void setLineText(int index, String text) {
+        Team team = scoreboard.getTeam(TEAM_PREFIX + index);
+        if (team == null) {
+            return;
+        }
+
+        if (text.length() <= PART_LENGTH) {
+            team.setPrefix(text);
+            if (!team.getSuffix().isEmpty()) {
+                team.setSuffix("");
+            }
+            return;
+        }
+
+        // Não cortar um código de cor ao meio
+        int split = PART_LENGTH;
+        if (text.charAt(split - 1) == ChatColor.COLOR_CHAR) {
+            split--;
+        }
+
+        String prefix = text.substring(0, split);
+        String suffix = ChatColor.getLastColors(prefix) + text.substring(split);
+        if (suffix.length() > PART_LENGTH) {
+            suffix = suffix.substring(0, PART_LENGTH);
+        }
+
+        team.setPrefix(prefix);
+        team.setSuffix(suffix);
+    }
+
+    /**
+     * Remove todas as linhas e o objetivo do scoreboard
+     */
+    public void destroy() {
+        for (int i = 0; i < lineCount; i++) {
+            scoreboard.resetScores(entries[i]);
+        }
+        lineCount = 0;
+
+        for (int i = 0; i < MAX_LINES; i++) {
+            Team team = scoreboard.getTeam(TEAM_PREFIX + i);
+            if (team != null) {
+                team.unregister();
+            }
+            current[i] = null;
+        }
+
+        objective.unregister();
+    }
+}
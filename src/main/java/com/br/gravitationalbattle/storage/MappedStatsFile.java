@@ -0,0 +1,274 @@
+package com.br.gravitationalbattle.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * Estatísticas de todos os jogadores num arquivo mapeado em memória, com registros de tamanho fixo.
+ * <p>
+ * Cada registro tem {@value #RECORD_SIZE} bytes: UUID (16) seguido de um int por estatística
+ * (ver {@link PlayerStorage}). Os registros são acrescentados na ordem de chegada e alterados
+ * no lugar. Uma tabela de endereçamento aberto com os números dos registros (sondagem linear,
+ * reconstruída a partir do arquivo ao abrir) encontra o registro de um jogador em O(1), então
+ * nenhum objeto por jogador fica no heap. As escritas vão para o cache de páginas do sistema;
+ * {@link #force()} as grava no disco.
+ */
+public class MappedStatsFile {
+
+    private static final int MAGIC = 0x47425331; // "GBS1"
+    private static final int HEADER_SIZE = 16;
+    private static final int STATS = PlayerStorage.GAMES_PLAYED + 1;
+    private static final int RECORD_SIZE = 16 + STATS * 4;
+    private static final int INITIAL_RECORDS = 1024;
+
+    private final File file;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int count;
+
+    // Número do registro + 1 em cada posição, 0 quando vazia; o tamanho é uma potência de dois
+    private int[] index;
+
+    public MappedStatsFile(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Abre ou cria o arquivo e monta o índice
+     *
+     * @throws IOException Se o arquivo não puder ser aberto ou não for um arquivo de estatísticas
+     */
+    public synchronized void open() throws IOException {
+        boolean created = !file.exists() || file.length() == 0;
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        if (created) {
+            map(INITIAL_RECORDS);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, 0);
+            count = 0;
+        } else {
+            long records = (channel.size() - HEADER_SIZE) / RECORD_SIZE;
+            map((int) Math.max(INITIAL_RECORDS, records));
+            if (buffer.getInt(0) != MAGIC) {
+                channel.close();
+                throw new IOException(file.getName() + " não é um arquivo de estatísticas");
+            }
+            count = Math.min(buffer.getInt(4), (int) records);
+        }
+
+        index = new int[tableSize(count)];
+        for (int record = 0; record < count; record++) {
+            int offset = offset(record);
+            index[findSlot(buffer.getLong(offset), buffer.getLong(offset + 8))] = record + 1;
+        }
+    }
+
+    /**
+     * Verifica se o arquivo ainda não tem nenhum registro
+     *
+     * @return true se estiver vazio
+     */
+    public synchronized boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Obtém a quantidade de jogadores guardados
+     *
+     * @return Quantidade de registros
+     */
+    public synchronized int size() {
+        return count;
+    }
+
+    /**
+     * Soma a uma estatística de um jogador, criando o registro dele se necessário
+     *
+     * @param uuid O jogador
+     * @param stat Id da estatística
+     * @param delta Variação da estatística
+     */
+    public synchronized void add(UUID uuid, byte stat, int delta) {
+        if (stat < 0 || stat >= STATS) {
+            return;
+        }
+
+        int record = find(uuid);
+        if (record < 0) {
+            record = append(uuid);
+        }
+
+        int position = offset(record) + 16 + stat * 4;
+        buffer.putInt(position, buffer.getInt(position) + delta);
+    }
+
+    /**
+     * Copia as estatísticas de um jogador para os dados dele
+     *
+     * @param uuid O jogador
+     * @param data Recebe os valores
+     */
+    public synchronized void read(UUID uuid, PlayerData data) {
+        int record = find(uuid);
+        if (record < 0) {
+            return;
+        }
+
+        int offset = offset(record) + 16;
+        for (byte stat = 0; stat < STATS; stat++) {
+            data.addStat(stat, buffer.getInt(offset + stat * 4));
+        }
+    }
+
+    /**
+     * Percorre todos os registros guardados, na ordem em que foram criados
+     *
+     * @param visitor Recebe as estatísticas de cada jogador
+     */
+    public synchronized void forEach(PlayerStorage.StatsVisitor visitor) {
+        int[] values = new int[STATS];
+        for (int record = 0; record < count; record++) {
+            int offset = offset(record);
+            for (int stat = 0; stat < STATS; stat++) {
+                values[stat] = buffer.getInt(offset + 16 + stat * 4);
+            }
+            visitor.visit(new UUID(buffer.getLong(offset), buffer.getLong(offset + 8)), values);
+        }
+    }
+
+    /**
+     * Grava no disco as páginas alteradas.
+     * O lock só é usado para ler o mapeamento atual: as estatísticas continuam sendo alteradas
+     * no lugar enquanto as páginas são sincronizadas, então um msync lento nunca trava a thread principal.
+     */
+    public void force() {
+        MappedByteBuffer mapped;
+        synchronized (this) {
+            mapped = buffer;
+        }
+        if (mapped != null) {
+            mapped.force();
+        }
+    }
+
+    /**
+     * Grava as alterações no disco e fecha o arquivo
+     */
+    public synchronized void close() {
+        if (channel == null) {
+            return;
+        }
+
+        force();
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Os dados já foram gravados; o mapeamento continua válido até ser coletado
+        }
+        channel = null;
+        buffer = null;
+    }
+
+    private int find(UUID uuid) {
+        int slot = findSlot(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        return index[slot] - 1;
+    }
+
+    /**
+     * Encontra a posição que guarda um UUID, ou a posição vazia onde ele ficaria
+     */
+    private int findSlot(long most, long least) {
+        int mask = index.length - 1;
+        int slot = hash(most, least) & mask;
+
+        while (true) {
+            int record = index[slot];
+            if (record == 0) {
+                return slot;
+            }
+
+            int offset = offset(record - 1);
+            if (buffer.getLong(offset) == most && buffer.getLong(offset + 8) == least) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private int append(UUID uuid) {
+        if (HEADER_SIZE + (long) (count + 1) * RECORD_SIZE > buffer.capacity()) {
+            try {
+                map(count * 2);
+            } catch (IOException e) {
+                throw new IllegalStateException("Não foi possível aumentar " + file.getName(), e);
+            }
+        }
+
+        int record = count;
+        int offset = offset(record);
+        buffer.putLong(offset, uuid.getMostSignificantBits());
+        buffer.putLong(offset + 8, uuid.getLeastSignificantBits());
+        for (int stat = 0; stat < STATS; stat++) {
+            buffer.putInt(offset + 16 + stat * 4, 0);
+        }
+
+        // A quantidade é gravada por último, para que uma queda nunca exponha um registro gravado pela metade
+        count++;
+        buffer.putInt(4, count);
+
+        if (count * 2 > index.length) {
+            rehash();
+        }
+        index[findSlot(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits())] = record + 1;
+        return record;
+    }
+
+    private void rehash() {
+        index = new int[index.length * 2];
+        for (int record = 0; record < count - 1; record++) {
+            int offset = offset(record);
+            index[findSlot(buffer.getLong(offset), buffer.getLong(offset + 8))] = record + 1;
+        }
+    }
+
+    /**
+     * Mapeia o arquivo com espaço para a quantidade de registros informada, aumentando-o se necessário
+     */
+    private void map(int records) throws IOException {
+        long size = HEADER_SIZE + (long) records * RECORD_SIZE;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException(file.getName() + " está cheio");
+        }
+        if (buffer != null) {
+            buffer.force();
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    private static int offset(int record) {
+        return HEADER_SIZE + record * RECORD_SIZE;
+    }
+
+    private static int tableSize(int records) {
+        int size = 16;
+        while (size < records * 2) {
+            size <<= 1;
+        }
+        return size;
+    }
+
+    private static int hash(long most, long least) {
+        long h = most ^ least;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
@@ -0,0 +1,131 @@
+package com.br.gravitationalbattle.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import com.br.gravitationalbattle.GravitationalBattle;
+
+/**
+ * Estatísticas num arquivo mapeado em memória (stats.dat, ver {@link MappedStatsFile}); tokens
+ * e itens comprados nos mesmos arquivos YAML do {@link YamlStorage}.
+ * <p>
+ * As estatísticas de todos os jogadores podem ser lidas em O(1) sem serem carregadas no heap,
+ * que é o que as consultas de jogadores offline e os rankings precisam. As alterações são feitas
+ * no lugar e as páginas mapeadas são gravadas no disco periodicamente.
+ * <p>
+ * As liquidações aplicadas às estatísticas ficam em settlements.dat (ver {@link SettlementLog});
+ * as dos saldos, no tokens.yml. Um id já registrado é ignorado, como no SQLite.
+ */
+public class MappedStorage implements PlayerStorage {
+
+    private static final long FORCE_INTERVAL_TICKS = 20L * 30;
+
+    private final GravitationalBattle plugin;
+    private final MappedStatsFile stats;
+    private final SettlementLog settled;
+    private final YamlStorage files;
+    private BukkitTask forceTask;
+
+    public MappedStorage(GravitationalBattle plugin) {
+        this.plugin = plugin;
+        this.stats = new MappedStatsFile(new File(plugin.getDataFolder(), "stats.dat"));
+        this.settled = new SettlementLog(new File(plugin.getDataFolder(), "settlements.dat"));
+        this.files = new YamlStorage(plugin, false);
+    }
+
+    @Override
+    public void open() throws IOException {
+        files.open();
+        stats.open();
+        settled.open();
+
+        // Primeira vez com este armazenamento: traz as estatísticas do stats.yml
+        if (stats.isEmpty() && new File(plugin.getDataFolder(), "stats.yml").exists()) {
+            plugin.getLogger().info("Migrando as estatísticas dos jogadores de stats.yml para stats.dat...");
+
+            YamlStorage yaml = new YamlStorage(plugin);
+            yaml.open();
+            yaml.loadStats(stats::add);
+            yaml.close();
+            stats.force();
+        }
+
+        forceTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                stats.force();
+                settled.force();
+            }
+        }.runTaskTimerAsynchronously(plugin, FORCE_INTERVAL_TICKS, FORCE_INTERVAL_TICKS);
+    }
+
+    @Override
+    public PlayerData load(UUID uuid) {
+        PlayerData data = files.load(uuid);
+        stats.read(uuid, data);
+        return data;
+    }
+
+    @Override
+    public void forEachStats(StatsVisitor visitor) {
+        stats.forEach(visitor);
+    }
+
+    @Override
+    public void addStat(UUID uuid, byte stat, int delta) {
+        stats.add(uuid, stat, delta);
+    }
+
+    @Override
+    public void setTokens(UUID uuid, int balance) {
+        files.setTokens(uuid, balance);
+    }
+
+    @Override
+    public void addItem(UUID uuid, String itemId) {
+        files.addItem(uuid, itemId);
+    }
+
+    @Override
+    public void settle(Settlement settlement) {
+        if (!settled.contains(settlement.getId())) {
+            for (Settlement.Credit credit : settlement.getCredits()) {
+                stats.add(credit.getUuid(), WINS, credit.getWins());
+                stats.add(credit.getUuid(), GAMES_PLAYED, credit.getGamesPlayed());
+            }
+            settled.add(settlement.getId());
+
+            // Sincroniza numa thread separada; ao desativar, close() grava os arquivos de qualquer forma
+            if (plugin.isEnabled()) {
+                Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+                    stats.force();
+                    settled.force();
+                });
+            }
+        }
+
+        // Só os tokens: os arquivos YAML são abertos sem as estatísticas
+        files.settle(settlement);
+    }
+
+    @Override
+    public void flush() {
+        files.flush();
+    }
+
+    @Override
+    public void close() {
+        if (forceTask != null) {
+            forceTask.cancel();
+        }
+
+        stats.close();
+        settled.close();
+        files.close();
+    }
+}
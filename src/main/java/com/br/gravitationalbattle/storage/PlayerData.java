@@ -0,0 +1,75 @@
+package com.br.gravitationalbattle.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Dados em cache de um jogador: estatísticas, saldo de tokens e itens comprados.
+ * Carregados por {@link PlayerStorage#load(UUID)} e depois alterados só na thread principal.
+ */
+public class PlayerData {
+
+    private final UUID uuid;
+    private final int[] stats;
+    private int tokens;
+    private final List<String> items;
+
+    public PlayerData(UUID uuid) {
+        this.uuid = uuid;
+        this.stats = new int[PlayerStorage.GAMES_PLAYED + 1];
+        this.items = new ArrayList<>();
+    }
+
+    public UUID getUuid() {
+        return uuid;
+    }
+
+    /**
+     * Obtém o valor de uma estatística
+     *
+     * @param stat Id da estatística (ver {@link PlayerStorage})
+     * @return O valor
+     */
+    public int getStat(byte stat) {
+        return stats[stat];
+    }
+
+    /**
+     * Soma a uma estatística
+     *
+     * @param stat Id da estatística (ver {@link PlayerStorage})
+     * @param amount Quantidade a somar
+     */
+    public void addStat(byte stat, int amount) {
+        if (stat >= 0 && stat < stats.length) {
+            stats[stat] += amount;
+        }
+    }
+
+    public int getTokens() {
+        return tokens;
+    }
+
+    public void setTokens(int tokens) {
+        this.tokens = tokens;
+    }
+
+    public boolean hasItem(String itemId) {
+        return items.contains(itemId);
+    }
+
+    /**
+     * Adiciona um item comprado
+     *
+     * @param itemId Id do item
+     * @return true se o jogador ainda não o tinha
+     */
+    public boolean addItem(String itemId) {
+        if (items.contains(itemId)) {
+            return false;
+        }
+        items.add(itemId);
+        return true;
+    }
+}
@@ -0,0 +1,103 @@
+package com.br.gravitationalbattle.storage;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Armazenamento dos dados de cada jogador: estatísticas, saldo de tokens e itens comprados.
+ * <p>
+ * Os jogadores são carregados um por vez, quando se conectam. As escritas são por jogador e
+ * não bloqueiam: as implementações as enfileiram e gravam em lotes na sua própria thread.
+ * As escritas são feitas na thread principal; {@link #load(UUID)} pode ser chamado de qualquer thread.
+ */
+public interface PlayerStorage {
+
+    byte KILLS = 0;
+    byte DEATHS = 1;
+    byte WINS = 2;
+    byte GAMES_PLAYED = 3;
+
+    /**
+     * Recebe as estatísticas percorridas por {@link #forEachStats(StatsVisitor)}
+     */
+    interface StatsVisitor {
+
+        /**
+         * @param uuid O jogador
+         * @param values Valores das estatísticas, indexados pelo id; o array pode ser reutilizado entre chamadas
+         */
+        void visit(UUID uuid, int[] values);
+    }
+
+    /**
+     * Abre o armazenamento, criando arquivos ou tabelas se necessário
+     *
+     * @throws IOException Se o armazenamento não puder ser aberto
+     */
+    void open() throws IOException;
+
+    /**
+     * Carrega os dados de um jogador, bloqueando até a leitura terminar.
+     * As escritas enfileiradas antes desta chamada aparecem no resultado.
+     *
+     * @param uuid O jogador
+     * @return Os dados do jogador, vazios se ele nunca jogou
+     */
+    PlayerData load(UUID uuid);
+
+    /**
+     * Percorre as estatísticas de todos os jogadores guardados, bloqueando até terminar.
+     * Feito para leituras completas raras, como montar os rankings.
+     *
+     * @param visitor Recebe as estatísticas de cada jogador
+     */
+    void forEachStats(StatsVisitor visitor);
+
+    /**
+     * Soma a uma estatística de um jogador
+     *
+     * @param uuid O jogador
+     * @param stat Id da estatística
+     * @param delta Variação da estatística
+     */
+    void addStat(UUID uuid, byte stat, int delta);
+
+    /**
+     * Guarda o saldo de tokens de um jogador
+     *
+     * @param uuid O jogador
+     * @param balance Novo saldo
+     */
+    void setTokens(UUID uuid, int balance);
+
+    /**
+     * Guarda um item comprado
+     *
+     * @param uuid O jogador
+     * @param itemId Id do item
+     */
+    void addItem(UUID uuid, String itemId);
+
+    /**
+     * Grava os créditos de uma partida encerrada em segundo plano, num único lote. Os créditos
+     * de tokens são variações; quem chama já aplicou tudo aos {@link PlayerData} em cache.
+     * Todo armazenamento registra o id da liquidação e ignora um id que já aplicou. O SQLite grava
+     * a liquidação inteira numa transação. Os armazenamentos em arquivo gravam as estatísticas
+     * (um grupo no diário, ou o stats.dat) e os saldos de tokens (tokens.yml) separadamente, cada
+     * metade com o id junto; uma queda entre os dois pode manter só uma das metades, mas repetir
+     * a liquidação completa só a outra.
+     *
+     * @param settlement Os créditos da partida
+     */
+    void settle(Settlement settlement);
+
+    /**
+     * Entrega todas as escritas enfileiradas à thread de escrita
+     */
+    void flush();
+
+    /**
+     * Grava o que estiver enfileirado, espera as escritas pendentes e libera o armazenamento
+     */
+    void close();
+}
@@ -0,0 +1,264 @@
+package com.br.gravitationalbattle.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.bukkit.ChunkSnapshot;
+
+/**
+ * Os blocos de uma caixa de chunks, guardados para restaurar uma arena depois de uma partida.
+ * <p>
+ * Os blocos são guardados como índices de uma paleta de textos de block data. Cada chunk é
+ * codificado separadamente como sequências de varints (tamanho, índice), na ordem y, z, x, então
+ * as grandes áreas uniformes de uma arena (ar, pisos) ocupam poucos bytes e um chunk pode ser
+ * decodificado sem mexer nos outros. No disco, o snapshot inteiro é comprimido (deflate).
+ * O conteúdo de baús e outros dados de tile entities não fazem parte do snapshot.
+ */
+public class RegionSnapshot {
+
+    private static final int MAGIC = 0x47425231; // "GBR1"
+
+    private final int minChunkX;
+    private final int minChunkZ;
+    private final int maxChunkX;
+    private final int maxChunkZ;
+    private final int minY;
+    private final int maxY;
+    private final String[] palette;
+
+    // Índices da paleta de cada chunk, codificados por sequências (run-length), ordenados por x
+    private final byte[][] chunks;
+
+    private RegionSnapshot(int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ,
+                           int minY, int maxY, String[] palette, byte[][] chunks) {
+        this.minChunkX = minChunkX;
+        this.minChunkZ = minChunkZ;
+        this.maxChunkX = maxChunkX;
+        this.maxChunkZ = maxChunkZ;
+        this.minY = minY;
+        this.maxY = maxY;
+        this.palette = palette;
+        this.chunks = chunks;
+    }
+
+    /**
+     * Codifica uma caixa de chunks. Só lê as cópias dos chunks, então pode rodar fora da thread principal.
+     *
+     * @param snapshots Cópias de todos os chunks da caixa, ordenadas por x
+     *                  (índice (chunkX - minChunkX) * profundidade + (chunkZ - minChunkZ))
+     * @param minChunkX Menor x de chunk
+     * @param minChunkZ Menor z de chunk
+     * @param maxChunkX Maior x de chunk
+     * @param maxChunkZ Maior z de chunk
+     * @param minY Menor y de bloco guardado
+     * @param maxY Maior y de bloco guardado
+     * @return O snapshot
+     */
+    public static RegionSnapshot capture(ChunkSnapshot[] snapshots, int minChunkX, int minChunkZ,
+                                         int maxChunkX, int maxChunkZ, int minY, int maxY) {
+        Map<String, Integer> ids = new HashMap<>();
+        byte[][] chunks = new byte[snapshots.length][];
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        for (int i = 0; i < snapshots.length; i++) {
+            ChunkSnapshot snapshot = snapshots[i];
+            out.reset();
+
+            int run = 0;
+            int current = -1;
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        String data = snapshot.getBlockData(x, y, z).getAsString();
+                        Integer id = ids.get(data);
+                        if (id == null) {
+                            id = ids.size();
+                            ids.put(data, id);
+                        }
+
+                        if (id == current) {
+                            run++;
+                        } else {
+                            if (run > 0) {
+                                writeVarInt(out, run);
+                                writeVarInt(out, current);
+                            }
+                            current = id;
+                            run = 1;
+                        }
+                    }
+                }
+            }
+            writeVarInt(out, run);
+            writeVarInt(out, current);
+            chunks[i] = out.toByteArray();
+        }
+
+        String[] palette = new String[ids.size()];
+        for (Map.Entry<String, Integer> entry : ids.entrySet()) {
+            palette[entry.getValue()] = entry.getKey();
+        }
+
+        return new RegionSnapshot(minChunkX, minChunkZ, maxChunkX, maxChunkZ, minY, maxY, palette, chunks);
+    }
+
+    /**
+     * Lê um snapshot gravado por {@link #write(File)}
+     *
+     * @param file O arquivo do snapshot
+     * @return O snapshot
+     * @throws IOException Se o arquivo não puder ser lido ou não for um snapshot
+     */
+    public static RegionSnapshot read(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file.getName() + " não é um snapshot de região");
+            }
+
+            int minChunkX = in.readInt();
+            int minChunkZ = in.readInt();
+            int maxChunkX = in.readInt();
+            int maxChunkZ = in.readInt();
+            int minY = in.readInt();
+            int maxY = in.readInt();
+            if (maxChunkX < minChunkX || maxChunkZ < minChunkZ || maxY < minY) {
+                throw new IOException(file.getName() + " tem limites inválidos");
+            }
+
+            String[] palette = new String[in.readInt()];
+            for (int i = 0; i < palette.length; i++) {
+                palette[i] = in.readUTF();
+            }
+
+            byte[][] chunks = new byte[(maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1)][];
+            for (int i = 0; i < chunks.length; i++) {
+                chunks[i] = new byte[in.readInt()];
+                in.readFully(chunks[i]);
+            }
+
+            return new RegionSnapshot(minChunkX, minChunkZ, maxChunkX, maxChunkZ, minY, maxY, palette, chunks);
+        }
+    }
+
+    /**
+     * Grava o snapshot comprimido, substituindo o arquivo de forma atômica
+     *
+     * @param file Arquivo de destino
+     * @throws IOException Se o arquivo não puder ser gravado
+     */
+    public void write(File file) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            out.writeInt(MAGIC);
+            out.writeInt(minChunkX);
+            out.writeInt(minChunkZ);
+            out.writeInt(maxChunkX);
+            out.writeInt(maxChunkZ);
+            out.writeInt(minY);
+            out.writeInt(maxY);
+
+            out.writeInt(palette.length);
+            for (String data : palette) {
+                out.writeUTF(data);
+            }
+
+            for (byte[] chunk : chunks) {
+                out.writeInt(chunk.length);
+                out.write(chunk);
+            }
+        }
+
+        SaveService.writeAtomically(file, bytes.toByteArray());
+    }
+
+    /**
+     * Verifica se um chunk está dentro do snapshot
+     *
+     * @param chunkX X do chunk
+     * @param chunkZ Z do chunk
+     * @return true se o chunk faz parte do snapshot
+     */
+    public boolean contains(int chunkX, int chunkZ) {
+        return chunkX >= minChunkX && chunkX <= maxChunkX && chunkZ >= minChunkZ && chunkZ <= maxChunkZ;
+    }
+
+    /**
+     * Decodifica os índices da paleta de um chunk
+     *
+     * @param chunkX X do chunk, dentro do snapshot
+     * @param chunkZ Z do chunk, dentro do snapshot
+     * @return Um índice por bloco, em ((y - minY) << 8) | (z << 4) | x
+     */
+    public int[] decode(int chunkX, int chunkZ) {
+        byte[] chunk = chunks[(chunkX - minChunkX) * (maxChunkZ - minChunkZ + 1) + (chunkZ - minChunkZ)];
+        int[] blocks = new int[(maxY - minY + 1) << 8];
+
+        int[] position = {0};
+        int offset = 0;
+        while (position[0] < chunk.length && offset < blocks.length) {
+            int run = readVarInt(chunk, position);
+            int id = readVarInt(chunk, position);
+            int end = Math.min(blocks.length, offset + run);
+            while (offset < end) {
+                blocks[offset++] = id;
+            }
+        }
+        return blocks;
+    }
+
+    public String[] getPalette() {
+        return palette.clone();
+    }
+
+    public int getMinChunkX() {
+        return minChunkX;
+    }
+
+    public int getMinChunkZ() {
+        return minChunkZ;
+    }
+
+    public int getMaxChunkX() {
+        return maxChunkX;
+    }
+
+    public int getMaxChunkZ() {
+        return maxChunkZ;
+    }
+
+    public int getMinY() {
+        return minY;
+    }
+
+    public int getMaxY() {
+        return maxY;
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(byte[] data, int[] position) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[position[0]++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0 && shift < 35);
+        return value;
+    }
+}
@@ -0,0 +1,132 @@
+package com.br.gravitationalbattle.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.bukkit.configuration.file.FileConfiguration;
+
+/**
+ * Salva arquivos YAML fora da thread principal, de forma atômica.
+ * <p>
+ * A configuração é serializada na thread de quem chama, então o arquivo recebe exatamente o
+ * estado do momento da chamada. O texto é então gravado por uma única thread de I/O num
+ * arquivo temporário, sincronizado no disco e movido por cima do arquivo real, então uma queda
+ * deixa o arquivo antigo ou o novo, nunca um pela metade. Salvamentos de um arquivo que ainda
+ * espera ser gravado são agrupados: só o texto mais recente é gravado.
+ */
+public class SaveService {
+
+    private final Logger logger;
+    private final ExecutorService writer;
+
+    // Texto mais recente esperando para ser gravado, por arquivo
+    private final Map<File, String> pending;
+
+    public SaveService(Logger logger) {
+        this.logger = logger;
+        this.pending = new ConcurrentHashMap<>();
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "GravitationalBattle-IO");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Enfileira uma configuração para ser salva
+     *
+     * @param file Arquivo de destino
+     * @param config A configuração, serializada agora
+     */
+    public void save(final File file, FileConfiguration config) {
+        String data = config.saveToString();
+
+        if (writer.isShutdown()) {
+            // Tarde demais para a thread de I/O: grava aqui mesmo
+            write(file, data);
+            return;
+        }
+
+        // Só o primeiro salvamento de uma sequência enfileira uma escrita; os outros só trocam o texto
+        if (pending.put(file, data) == null) {
+            writer.execute(() -> {
+                String latest = pending.remove(file);
+                if (latest != null) {
+                    write(file, latest);
+                }
+            });
+        }
+    }
+
+    private void write(File file, String data) {
+        try {
+            writeAtomically(file, data);
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Não foi possível salvar " + file.getName(), e);
+        }
+    }
+
+    /**
+     * Grava um texto num arquivo através de uma cópia temporária sincronizada, substituindo-o de forma atômica
+     *
+     * @param file Arquivo de destino
+     * @param data Conteúdo do arquivo
+     * @throws IOException Se o arquivo não puder ser gravado
+     */
+    public static void writeAtomically(File file, String data) throws IOException {
+        writeAtomically(file, data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Grava bytes num arquivo através de uma cópia temporária sincronizada, substituindo-o de forma atômica
+     *
+     * @param file Arquivo de destino
+     * @param data Conteúdo do arquivo
+     * @throws IOException Se o arquivo não puder ser gravado
+     */
+    public static void writeAtomically(File file, byte[] data) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+
+        File temp = new File(file.getPath() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(true);
+        }
+
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Grava todos os salvamentos enfileirados e para a thread de I/O
+     */
+    public void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.severe("Tempo esgotado ao salvar os arquivos!");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.br.gravitationalbattle.storage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Tudo o que é creditado aos jogadores de uma partida encerrada: variações de estatísticas,
+ * tokens e XP. É gravado no armazenamento num único lote por {@link PlayerStorage#settle(Settlement)}.
+ * O id identifica a partida; todo armazenamento o registra, então uma liquidação nunca é
+ * gravada duas vezes.
+ */
+public class Settlement {
+
+    /**
+     * Créditos de um jogador
+     */
+    public static final class Credit {
+
+        private final UUID uuid;
+        private final int wins;
+        private final int gamesPlayed;
+        private final int tokens;
+        private final int xp;
+
+        Credit(UUID uuid, int wins, int gamesPlayed, int tokens, int xp) {
+            this.uuid = uuid;
+            this.wins = wins;
+            this.gamesPlayed = gamesPlayed;
+            this.tokens = tokens;
+            this.xp = xp;
+        }
+
+        public UUID getUuid() {
+            return uuid;
+        }
+
+        public int getWins() {
+            return wins;
+        }
+
+        public int getGamesPlayed() {
+            return gamesPlayed;
+        }
+
+        public int getTokens() {
+            return tokens;
+        }
+
+        public int getXP() {
+            return xp;
+        }
+    }
+
+    private final UUID id;
+    private final List<Credit> credits;
+
+    public Settlement(UUID id) {
+        this.id = id;
+        this.credits = new ArrayList<>();
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    /**
+     * Adiciona os créditos de um jogador
+     *
+     * @param uuid O jogador
+     * @param wins Vitórias a somar
+     * @param gamesPlayed Partidas jogadas a somar
+     * @param tokens Tokens a somar
+     * @param xp XP a somar
+     */
+    public void credit(UUID uuid, int wins, int gamesPlayed, int tokens, int xp) {
+        credits.add(new Credit(uuid, wins, gamesPlayed, tokens, xp));
+    }
+
+    public List<Credit> getCredits() {
+        return Collections.unmodifiableList(credits);
+    }
+
+    public boolean isEmpty() {
+        return credits.isEmpty();
+    }
+}
@@ -0,0 +1,140 @@
+package com.br.gravitationalbattle.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Ids das liquidações aplicadas recentemente, num arquivo mapeado em memória ao lado do stats.dat.
+ * <p>
+ * O arquivo é um anel com {@value #CAPACITY} posições de 16 bytes, depois de um cabeçalho com a
+ * próxima posição a ser usada: o id mais antigo é sobrescrito pelo mais novo. As escritas vão para
+ * o cache de páginas do sistema no mesmo instante, como as do {@link MappedStatsFile}, então uma
+ * queda do processo logo depois de {@link #add(UUID)} não perde o id.
+ */
+public class SettlementLog {
+
+    private static final int MAGIC = 0x47424C31; // "GBL1"
+    private static final int HEADER_SIZE = 8;
+    private static final int CAPACITY = 256;
+
+    private final File file;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int next;
+
+    // Cópia dos ids do anel, para consultas sem percorrê-lo
+    private final Set<UUID> ids;
+
+    public SettlementLog(File file) {
+        this.file = file;
+        this.ids = new HashSet<>();
+    }
+
+    /**
+     * Abre ou cria o arquivo e lê os ids guardados
+     *
+     * @throws IOException Se o arquivo não puder ser aberto ou não for um registro de liquidações
+     */
+    public synchronized void open() throws IOException {
+        boolean created = !file.exists() || file.length() == 0;
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + CAPACITY * 16L);
+
+        if (created) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, 0);
+            next = 0;
+            return;
+        }
+
+        if (buffer.getInt(0) != MAGIC) {
+            channel.close();
+            throw new IOException(file.getName() + " não é um registro de liquidações");
+        }
+        next = Math.floorMod(buffer.getInt(4), CAPACITY);
+
+        for (int slot = 0; slot < CAPACITY; slot++) {
+            long most = buffer.getLong(offset(slot));
+            long least = buffer.getLong(offset(slot) + 8);
+            if (most != 0 || least != 0) {
+                ids.add(new UUID(most, least));
+            }
+        }
+    }
+
+    /**
+     * Verifica se uma liquidação já foi aplicada
+     *
+     * @param id Id da liquidação
+     * @return true se o id estiver guardado
+     */
+    public synchronized boolean contains(UUID id) {
+        return ids.contains(id);
+    }
+
+    /**
+     * Guarda o id de uma liquidação aplicada, no lugar do mais antigo
+     *
+     * @param id Id da liquidação
+     */
+    public synchronized void add(UUID id) {
+        if (buffer == null || !ids.add(id)) {
+            return;
+        }
+
+        int offset = offset(next);
+        long most = buffer.getLong(offset);
+        long least = buffer.getLong(offset + 8);
+        if (most != 0 || least != 0) {
+            ids.remove(new UUID(most, least));
+        }
+
+        buffer.putLong(offset, id.getMostSignificantBits());
+        buffer.putLong(offset + 8, id.getLeastSignificantBits());
+        next = (next + 1) % CAPACITY;
+        buffer.putInt(4, next);
+    }
+
+    /**
+     * Grava no disco as páginas alteradas
+     */
+    public void force() {
+        MappedByteBuffer mapped;
+        synchronized (this) {
+            mapped = buffer;
+        }
+        if (mapped != null) {
+            mapped.force();
+        }
+    }
+
+    /**
+     * Grava as alterações no disco e fecha o arquivo
+     */
+    public synchronized void close() {
+        if (channel == null) {
+            return;
+        }
+
+        force();
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Os dados já foram gravados; o mapeamento continua válido até ser coletado
+        }
+        channel = null;
+        buffer = null;
+    }
+
+    private static int offset(int slot) {
+        return HEADER_SIZE + slot * 16;
+    }
+}
@@ -0,0 +1,413 @@
+package com.br.gravitationalbattle.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import com.br.gravitationalbattle.GravitationalBattle;
+
+/**
+ * Armazenamento em SQLite embutido (o driver já vem com o servidor), em playerdata.db.
+ * <p>
+ * As alterações são agrupadas por jogador na thread principal e gravadas em lotes de
+ * prepared statements, numa única transação, por uma thread em segundo plano que também
+ * é dona da conexão. As estatísticas são gravadas como variações somadas no próprio SQL,
+ * então um lote nunca precisa ler uma linha antes. Os jogadores são lidos um por vez,
+ * na mesma thread, depois das alterações enfileiradas antes deles.
+ */
+public class SqlStorage implements PlayerStorage {
+
+    // As alterações pendentes são gravadas quando houver esta quantidade de linhas, ou no flush periódico
+    private static final int BATCH_SIZE = 256;
+    private static final long FLUSH_INTERVAL_TICKS = 20L * 5;
+
+    private static final String UPSERT_STATS =
+            "INSERT INTO player_stats (uuid, kills, deaths, wins, games_played) VALUES (?, ?, ?, ?, ?) " +
+            "ON CONFLICT(uuid) DO UPDATE SET kills = kills + excluded.kills, deaths = deaths + excluded.deaths, " +
+            "wins = wins + excluded.wins, games_played = games_played + excluded.games_played";
+    private static final String UPSERT_TOKENS =
+            "INSERT INTO player_tokens (uuid, tokens) VALUES (?, ?) " +
+            "ON CONFLICT(uuid) DO UPDATE SET tokens = excluded.tokens";
+    private static final String INSERT_ITEM =
+            "INSERT OR IGNORE INTO player_items (uuid, item) VALUES (?, ?)";
+    private static final String INSERT_SETTLEMENT =
+            "INSERT OR IGNORE INTO settlements (id, settled_at) VALUES (?, ?)";
+    private static final String ADD_TOKENS =
+            "INSERT INTO player_tokens (uuid, tokens) VALUES (?, ?) " +
+            "ON CONFLICT(uuid) DO UPDATE SET tokens = tokens + excluded.tokens";
+
+    private final GravitationalBattle plugin;
+    private final File databaseFile;
+    private final ExecutorService executor;
+
+    // Alterações enfileiradas, agrupadas por jogador (protegidas por this)
+    private Map<UUID, int[]> pendingStats;
+    private Map<UUID, Integer> pendingTokens;
+    private List<String[]> pendingItems;
+
+    // Só usada pela thread do executor depois que open() retorna
+    private Connection connection;
+    private BukkitTask flushTask;
+
+    public SqlStorage(GravitationalBattle plugin) {
+        this.plugin = plugin;
+        this.databaseFile = new File(plugin.getDataFolder(), "playerdata.db");
+        this.pendingStats = new LinkedHashMap<>();
+        this.pendingTokens = new LinkedHashMap<>();
+        this.pendingItems = new ArrayList<>();
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "GravitationalBattle-SQL");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void open() throws IOException {
+        plugin.getDataFolder().mkdirs();
+
+        boolean migrate;
+        try {
+            Class.forName("org.sqlite.JDBC");
+            connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.getAbsolutePath());
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode=WAL");
+                statement.execute("PRAGMA synchronous=NORMAL");
+                statement.execute("CREATE TABLE IF NOT EXISTS player_stats (" +
+                        "uuid CHAR(36) PRIMARY KEY, kills INTEGER NOT NULL DEFAULT 0, deaths INTEGER NOT NULL DEFAULT 0, " +
+                        "wins INTEGER NOT NULL DEFAULT 0, games_played INTEGER NOT NULL DEFAULT 0)");
+                statement.execute("CREATE TABLE IF NOT EXISTS player_tokens (" +
+                        "uuid CHAR(36) PRIMARY KEY, tokens INTEGER NOT NULL DEFAULT 0)");
+                statement.execute("CREATE TABLE IF NOT EXISTS player_items (" +
+                        "uuid CHAR(36) NOT NULL, item VARCHAR(64) NOT NULL, PRIMARY KEY (uuid, item))");
+                statement.execute("CREATE TABLE IF NOT EXISTS settlements (" +
+                        "id CHAR(36) PRIMARY KEY, settled_at INTEGER NOT NULL)");
+
+                try (ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM player_stats")) {
+                    migrate = rows.next() && rows.getInt(1) == 0;
+                }
+            }
+            connection.setAutoCommit(false);
+        } catch (ClassNotFoundException | SQLException e) {
+            throw new IOException("Não foi possível abrir " + databaseFile.getName(), e);
+        }
+
+        // Primeira vez com SQL: traz os dados dos arquivos YAML
+        if (migrate && new File(plugin.getDataFolder(), "stats.yml").exists()) {
+            migrateFromYaml();
+        }
+
+        flushTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                flush();
+            }
+        }.runTaskTimer(plugin, FLUSH_INTERVAL_TICKS, FLUSH_INTERVAL_TICKS);
+    }
+
+    private void migrateFromYaml() throws IOException {
+        plugin.getLogger().info("Migrando os dados dos jogadores de YAML para " + databaseFile.getName() + "...");
+
+        YamlStorage yaml = new YamlStorage(plugin);
+        yaml.open();
+        yaml.loadStats(this::addStat);
+        yaml.loadTokens(this::setTokens);
+        yaml.loadItems((uuid, items) -> {
+            for (String item : items) {
+                addItem(uuid, item);
+            }
+        });
+        yaml.close();
+
+        // Espera a importação, para os dados estarem no lugar antes de qualquer leitura
+        flush();
+        try {
+            executor.submit(() -> { }).get();
+        } catch (Exception e) {
+            throw new IOException("Não foi possível migrar os dados dos jogadores", e);
+        }
+    }
+
+    @Override
+    public PlayerData load(UUID uuid) {
+        // Enfileira as alterações pendentes primeiro, para as leituras virem depois delas
+        flush();
+
+        final PlayerData data = new PlayerData(uuid);
+        final String key = uuid.toString();
+
+        query("SELECT kills, deaths, wins, games_played FROM player_stats WHERE uuid = ?", key, rows -> {
+            for (byte stat = KILLS; stat <= GAMES_PLAYED; stat++) {
+                data.addStat(stat, rows.getInt(stat + 1));
+            }
+        });
+        query("SELECT tokens FROM player_tokens WHERE uuid = ?", key,
+                rows -> data.setTokens(rows.getInt(1)));
+        query("SELECT item FROM player_items WHERE uuid = ?", key,
+                rows -> data.addItem(rows.getString(1)));
+        return data;
+    }
+
+    @Override
+    public void forEachStats(final StatsVisitor visitor) {
+        flush();
+
+        final int[] values = new int[GAMES_PLAYED + 1];
+        query("SELECT uuid, kills, deaths, wins, games_played FROM player_stats", null, rows -> {
+            for (byte stat = KILLS; stat <= GAMES_PLAYED; stat++) {
+                values[stat] = rows.getInt(stat + 2);
+            }
+            try {
+                visitor.visit(UUID.fromString(rows.getString(1)), values);
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().warning("UUID inválido em " + databaseFile.getName() + ": " + rows.getString(1));
+            }
+        });
+    }
+
+    private interface RowReader {
+        void read(ResultSet rows) throws SQLException;
+    }
+
+    /**
+     * Executa uma consulta na thread do executor e espera por ela, depois das escritas já enfileiradas
+     *
+     * @param uuid Valor do parâmetro da consulta, ou null se ela não tiver parâmetro
+     */
+    private void query(final String sql, final String uuid, final RowReader reader) {
+        try {
+            executor.submit(() -> {
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    if (uuid != null) {
+                        statement.setString(1, uuid);
+                    }
+                    try (ResultSet rows = statement.executeQuery()) {
+                        while (rows.next()) {
+                            reader.read(rows);
+                        }
+                    }
+                }
+                return null;
+            }).get();
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.SEVERE, "Não foi possível ler de " + databaseFile.getName(), e);
+        }
+    }
+
+    @Override
+    public synchronized void addStat(UUID uuid, byte stat, int delta) {
+        int[] values = pendingStats.get(uuid);
+        if (values == null) {
+            values = new int[GAMES_PLAYED + 1];
+            pendingStats.put(uuid, values);
+        }
+        values[stat] += delta;
+        checkBatchSize();
+    }
+
+    @Override
+    public synchronized void setTokens(UUID uuid, int balance) {
+        pendingTokens.put(uuid, balance);
+        checkBatchSize();
+    }
+
+    @Override
+    public synchronized void addItem(UUID uuid, String itemId) {
+        pendingItems.add(new String[] { uuid.toString(), itemId });
+        checkBatchSize();
+    }
+
+    private void checkBatchSize() {
+        if (pendingStats.size() + pendingTokens.size() + pendingItems.size() >= BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (executor.isShutdown()) {
+            return;
+        }
+        if (pendingStats.isEmpty() && pendingTokens.isEmpty() && pendingItems.isEmpty()) {
+            return;
+        }
+
+        // Entrega as alterações enfileiradas e começa novas; nada fica compartilhado com o executor depois disso
+        final Map<UUID, int[]> stats = pendingStats;
+        final Map<UUID, Integer> tokens = pendingTokens;
+        final List<String[]> items = pendingItems;
+        pendingStats = new LinkedHashMap<>();
+        pendingTokens = new LinkedHashMap<>();
+        pendingItems = new ArrayList<>();
+
+        executor.execute(() -> {
+            try {
+                writeBatch(stats, tokens, items);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Não foi possível gravar em " + databaseFile.getName(), e);
+            }
+        });
+    }
+
+    @Override
+    public synchronized void settle(final Settlement settlement) {
+        if (executor.isShutdown()) {
+            return;
+        }
+
+        // As alterações anteriores vão primeiro, para que saldos absolutos gravados antes não sobrescrevam os créditos
+        flush();
+
+        executor.execute(() -> {
+            try {
+                writeSettlement(settlement);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Não foi possível liquidar a partida " + settlement.getId(), e);
+            }
+        });
+    }
+
+    /**
+     * Grava uma liquidação numa única transação, a menos que o id dela já esteja registrado
+     */
+    private void writeSettlement(Settlement settlement) throws IOException {
+        try {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SETTLEMENT)) {
+                statement.setString(1, settlement.getId().toString());
+                statement.setLong(2, System.currentTimeMillis());
+                if (statement.executeUpdate() == 0) {
+                    // Já liquidada
+                    connection.rollback();
+                    return;
+                }
+            }
+
+            try (PreparedStatement stats = connection.prepareStatement(UPSERT_STATS);
+                 PreparedStatement tokens = connection.prepareStatement(ADD_TOKENS)) {
+                for (Settlement.Credit credit : settlement.getCredits()) {
+                    stats.setString(1, credit.getUuid().toString());
+                    stats.setInt(2, 0);
+                    stats.setInt(3, 0);
+                    stats.setInt(4, credit.getWins());
+                    stats.setInt(5, credit.getGamesPlayed());
+                    stats.addBatch();
+
+                    if (credit.getTokens() != 0) {
+                        tokens.setString(1, credit.getUuid().toString());
+                        tokens.setInt(2, credit.getTokens());
+                        tokens.addBatch();
+                    }
+                }
+                stats.executeBatch();
+                tokens.executeBatch();
+            }
+
+            connection.commit();
+        } catch (SQLException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException ignored) {
+                // O erro original é o que vale a pena informar
+            }
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Grava um lote de alterações numa única transação
+     */
+    private void writeBatch(Map<UUID, int[]> stats, Map<UUID, Integer> tokens, List<String[]> items) throws IOException {
+        try {
+            if (!stats.isEmpty()) {
+                try (PreparedStatement statement = connection.prepareStatement(UPSERT_STATS)) {
+                    for (Map.Entry<UUID, int[]> entry : stats.entrySet()) {
+                        int[] values = entry.getValue();
+                        statement.setString(1, entry.getKey().toString());
+                        statement.setInt(2, values[KILLS]);
+                        statement.setInt(3, values[DEATHS]);
+                        statement.setInt(4, values[WINS]);
+                        statement.setInt(5, values[GAMES_PLAYED]);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
+            }
+
+            if (!tokens.isEmpty()) {
+                try (PreparedStatement statement = connection.prepareStatement(UPSERT_TOKENS)) {
+                    for (Map.Entry<UUID, Integer> entry : tokens.entrySet()) {
+                        statement.setString(1, entry.getKey().toString());
+                        statement.setInt(2, entry.getValue());
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
+            }
+
+            if (!items.isEmpty()) {
+                try (PreparedStatement statement = connection.prepareStatement(INSERT_ITEM)) {
+                    for (String[] item : items) {
+                        statement.setString(1, item[0]);
+                        statement.setString(2, item[1]);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
+            }
+
+            connection.commit();
+        } catch (SQLException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException ignored) {
+                // O erro original é o que vale a pena informar
+            }
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (flushTask != null) {
+            flushTask.cancel();
+        }
+
+        flush();
+        executor.execute(() -> {
+            try {
+                if (connection != null) {
+                    connection.close();
+                }
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.SEVERE, "Não foi possível fechar " + databaseFile.getName(), e);
+            }
+        });
+        executor.shutdown();
+
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                plugin.getLogger().severe("Tempo esgotado ao salvar os dados dos jogadores!");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.br.gravitationalbattle.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Diário (journal) das variações de estatísticas, só com acréscimos, gravado em segundo plano.
+ * <p>
+ * Cada registro tem {@value #RECORD_SIZE} bytes fixos: UUID (16), id da estatística (1, ver
+ * {@link PlayerStorage}) e variação (4). Um registro de cabeçalho de grupo (id {@value #GROUP},
+ * variação = quantidade de registros) marca registros que são reaplicados todos juntos ou nenhum.
+ * No lugar do UUID, o cabeçalho traz o id da liquidação (ver {@link Settlement}): um grupo cujo
+ * id já foi aplicado é ignorado ao reaplicar, então uma partida nunca é somada duas vezes.
+ * O arquivo começa com um cabeçalho que traz um número de geração; o snapshot gravado por
+ * {@link #compact(SnapshotWriter)} guarda a geração que cobre, então um diário que já foi
+ * incorporado ao snapshot nunca é reaplicado duas vezes, mesmo se o servidor cair entre a
+ * gravação do snapshot e a criação do próximo diário.
+ */
+public class StatsJournal {
+
+    private static final int MAGIC = 0x47424A31; // "GBJ1"
+    private static final int HEADER_SIZE = 12;
+    private static final int RECORD_SIZE = 21;
+    private static final byte GROUP = -1;
+    private static final int MAX_GROUP = 4096;
+
+    /**
+     * Recebe os registros encontrados no diário ao iniciar
+     */
+    public interface Replay {
+        void apply(UUID uuid, byte stat, int delta);
+    }
+
+    /**
+     * Grava um snapshot que cobre todos os diários até a geração informada
+     */
+    public interface SnapshotWriter {
+        void write(long generation) throws IOException;
+    }
+
+    private final File file;
+    private final Logger logger;
+    private final ExecutorService writer;
+
+    // Só usados pela thread de escrita depois de open()
+    private FileChannel channel;
+    private long generation;
+
+    // Registros acrescentados desde a última compactação (thread principal)
+    private int pendingRecords;
+
+    public StatsJournal(File file, Logger logger) {
+        this.file = file;
+        this.logger = logger;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "GravitationalBattle-Stats");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Abre o diário, reaplicando-o se for mais novo que o snapshot
+     *
+     * @param snapshotGeneration Geração coberta pelo snapshot carregado
+     * @param settled Ids das liquidações já aplicadas; recebe os ids dos grupos reaplicados
+     * @param replay Recebe cada registro reaplicado
+     * @throws IOException Se o diário não puder ser aberto
+     */
+    public void open(long snapshotGeneration, Set<UUID> settled, Replay replay) throws IOException {
+        if (file.exists()) {
+            try (FileChannel in = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                boolean valid = readFully(in, header) && header.getInt(0) == MAGIC;
+                long fileGeneration = valid ? header.getLong(4) : -1;
+
+                if (!valid) {
+                    logger.warning("Ignorando diário de estatísticas ilegível: " + file.getName());
+                } else if (fileGeneration > snapshotGeneration) {
+                    long end = replay(in, settled, replay);
+                    in.close();
+
+                    // Continua acrescentando neste diário, descartando um registro incompleto deixado por uma queda
+                    channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE);
+                    channel.truncate(end);
+                    channel.position(end);
+                    generation = fileGeneration;
+                    return;
+                }
+            }
+        }
+
+        // Nenhum diário mais novo que o snapshot: começa a próxima geração
+        channel = createJournal(snapshotGeneration + 1);
+        generation = snapshotGeneration + 1;
+    }
+
+    private long replay(FileChannel in, Set<UUID> settled, Replay replay) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        long end = HEADER_SIZE;
+        int count = 0;
+
+        while (true) {
+            record.clear();
+            if (!readFully(in, record)) {
+                break;
+            }
+            record.flip();
+
+            UUID uuid = new UUID(record.getLong(), record.getLong());
+            byte stat = record.get();
+            int delta = record.getInt();
+
+            if (stat != GROUP) {
+                replay.apply(uuid, stat, delta);
+                end += RECORD_SIZE;
+                count++;
+                continue;
+            }
+
+            // Um grupo só vale se todos os seus registros chegaram ao disco
+            if (delta < 0 || delta > MAX_GROUP) {
+                break;
+            }
+            ByteBuffer group = ByteBuffer.allocate(delta * RECORD_SIZE);
+            if (!readFully(in, group)) {
+                break;
+            }
+            group.flip();
+
+            // Liquidação já aplicada (pelo snapshot ou por um grupo anterior): o grupo fica no arquivo, mas não soma
+            if (settled.add(uuid)) {
+                while (group.hasRemaining()) {
+                    replay.apply(new UUID(group.getLong(), group.getLong()), group.get(), group.getInt());
+                }
+            }
+            end += RECORD_SIZE * (delta + 1L);
+            count += delta + 1;
+        }
+
+        pendingRecords = count;
+        if (count > 0) {
+            logger.info("Reaplicados " + count + " registros do diário de estatísticas");
+        }
+        return end;
+    }
+
+    private static boolean readFully(FileChannel in, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (in.read(buffer) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Cria um diário vazio para uma geração, substituindo o arquivo atual de forma atômica
+     */
+    private FileChannel createJournal(long newGeneration) throws IOException {
+        File temp = new File(file.getPath() + ".tmp");
+
+        try (FileChannel out = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putLong(newGeneration).flip();
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+            out.force(true);
+        }
+
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE);
+        channel.position(HEADER_SIZE);
+        return channel;
+    }
+
+    /**
+     * Enfileira uma variação para ser acrescentada ao diário
+     *
+     * @param uuid O jogador
+     * @param stat Id da estatística
+     * @param delta Variação da estatística
+     */
+    public void append(UUID uuid, byte stat, int delta) {
+        if (writer.isShutdown()) {
+            return;
+        }
+
+        final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        record.putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .put(stat)
+                .putInt(delta)
+                .flip();
+        pendingRecords++;
+
+        writer.execute(() -> {
+            try {
+                while (record.hasRemaining()) {
+                    channel.write(record);
+                }
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Não foi possível gravar no diário de estatísticas", e);
+            }
+        });
+    }
+
+    /**
+     * Enfileira registros para serem acrescentados como um grupo, reaplicados todos juntos ou nenhum
+     *
+     * @param groupId Id da liquidação; ao reaplicar, só o primeiro grupo com um id é somado
+     * @param uuids O jogador de cada registro
+     * @param stats Id da estatística de cada registro
+     * @param deltas Variação de cada registro
+     */
+    public void appendGroup(UUID groupId, UUID[] uuids, byte[] stats, int[] deltas) {
+        if (writer.isShutdown()) {
+            return;
+        }
+
+        final ByteBuffer records = ByteBuffer.allocate(RECORD_SIZE * (uuids.length + 1));
+        records.putLong(groupId.getMostSignificantBits())
+                .putLong(groupId.getLeastSignificantBits())
+                .put(GROUP)
+                .putInt(uuids.length);
+        for (int i = 0; i < uuids.length; i++) {
+            records.putLong(uuids[i].getMostSignificantBits())
+                    .putLong(uuids[i].getLeastSignificantBits())
+                    .put(stats[i])
+                    .putInt(deltas[i]);
+        }
+        records.flip();
+        pendingRecords += uuids.length + 1;
+
+        writer.execute(() -> {
+            try {
+                while (records.hasRemaining()) {
+                    channel.write(records);
+                }
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Não foi possível gravar no diário de estatísticas", e);
+            }
+        });
+    }
+
+    /**
+     * Obtém a quantidade de registros acrescentados desde a última compactação
+     *
+     * @return Tamanho do diário, em registros
+     */
+    public int getPendingRecords() {
+        return pendingRecords;
+    }
+
+    /**
+     * Incorpora o diário a um snapshot em segundo plano e depois começa uma nova geração.
+     * Os dados do snapshot devem ser copiados por quem chama no momento da chamada, para
+     * corresponderem exatamente aos registros enfileirados até então.
+     *
+     * @param snapshot Grava o snapshot na thread de escrita
+     */
+    public void compact(SnapshotWriter snapshot) {
+        if (writer.isShutdown()) {
+            return;
+        }
+
+        pendingRecords = 0;
+
+        writer.execute(() -> {
+            try {
+                snapshot.write(generation);
+
+                channel.close();
+                channel = createJournal(generation + 1);
+                generation++;
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Não foi possível compactar o diário de estatísticas", e);
+            }
+        });
+    }
+
+    /**
+     * Espera todas as escritas enfileiradas e fecha o diário
+     */
+    public void close() {
+        writer.execute(() -> {
+            try {
+                channel.force(false);
+                channel.close();
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Não foi possível fechar o diário de estatísticas", e);
+            }
+        });
+        writer.shutdown();
+
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.severe("Tempo esgotado ao gravar o diário de estatísticas!");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
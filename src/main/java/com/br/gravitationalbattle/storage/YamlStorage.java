@@ -0,0 +1,453 @@
+package com.br.gravitationalbattle.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import com.br.gravitationalbattle.GravitationalBattle;
+
+/**
+ * Armazenamento em arquivos: stats.yml mais um diário binário para as estatísticas, tokens.yml
+ * e purchased-items.yml. Arquivos YAML só podem ser regravados inteiros, então este armazenamento
+ * mantém todos os dados em memória e agrupa as escritas: as estatísticas são acrescentadas ao
+ * diário, e tokens e itens são entregues em lotes ao {@link SaveService}, que os grava em segundo
+ * plano junto com os outros arquivos do plugin. Os métodos são synchronized, pois os jogadores
+ * são carregados na thread do login.
+ * <p>
+ * As liquidações recentes ficam registradas junto de cada metade: no grupo do diário e no
+ * stats.yml para as estatísticas, e no próprio tokens.yml para os saldos. Cada metade ignora
+ * um id que já aplicou, então repetir uma liquidação nunca paga duas vezes.
+ */
+public class YamlStorage implements PlayerStorage {
+
+    // Estatísticas: o diário é incorporado ao stats.yml depois desta quantidade de registros
+    private static final int COMPACT_THRESHOLD = 4096;
+
+    // Tokens: gravados quando esta quantidade de saldos mudou, ou no flush periódico
+    private static final int TOKEN_BATCH_SIZE = 32;
+    private static final long FLUSH_INTERVAL_TICKS = 20L * 30;
+
+    // Liquidações lembradas em cada arquivo (bem mais do que partidas entre dois salvamentos)
+    private static final int REMEMBERED_SETTLEMENTS = 256;
+    private static final String SETTLED_KEY = "settled";
+
+    private final GravitationalBattle plugin;
+    private final boolean withStats;
+    private final File statsFile;
+    private final File tokensFile;
+    private final File itemsFile;
+
+    private final Map<UUID, int[]> stats;
+    private final Map<UUID, Integer> tokens;
+    private final Map<UUID, List<String>> items;
+    private final Set<UUID> dirtyTokens;
+    private boolean itemsDirty;
+
+    // Liquidações já aplicadas às estatísticas e aos saldos, em ordem de aplicação
+    private final Set<UUID> settledStats;
+    private final Set<UUID> settledTokens;
+
+    private StatsJournal journal;
+    private FileConfiguration tokensConfig;
+    private BukkitTask flushTask;
+    private boolean closed;
+
+    public YamlStorage(GravitationalBattle plugin) {
+        this(plugin, true);
+    }
+
+    /**
+     * @param plugin O plugin
+     * @param withStats false para guardar só tokens e itens (as estatísticas ficam em outro lugar)
+     */
+    public YamlStorage(GravitationalBattle plugin, boolean withStats) {
+        this.plugin = plugin;
+        this.withStats = withStats;
+        this.statsFile = new File(plugin.getDataFolder(), "stats.yml");
+        this.tokensFile = new File(plugin.getDataFolder(), "tokens.yml");
+        this.itemsFile = new File(plugin.getDataFolder(), "purchased-items.yml");
+        this.stats = new HashMap<>();
+        this.tokens = new HashMap<>();
+        this.items = new HashMap<>();
+        this.dirtyTokens = new HashSet<>();
+        this.settledStats = recentSet();
+        this.settledTokens = recentSet();
+    }
+
+    @Override
+    public void open() throws IOException {
+        plugin.getDataFolder().mkdirs();
+
+        if (withStats) {
+            openStats();
+        }
+
+        // Tokens
+        tokensConfig = YamlConfiguration.loadConfiguration(tokensFile);
+        readSettled(tokensConfig, settledTokens);
+        for (String uuidString : tokensConfig.getKeys(false)) {
+            if (uuidString.equals(SETTLED_KEY)) {
+                continue;
+            }
+            try {
+                tokens.put(UUID.fromString(uuidString), tokensConfig.getInt(uuidString));
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().warning("UUID inválido no arquivo tokens.yml: " + uuidString);
+            }
+        }
+
+        // Itens comprados
+        YamlConfiguration itemsConfig = YamlConfiguration.loadConfiguration(itemsFile);
+        for (String uuidString : itemsConfig.getKeys(false)) {
+            try {
+                items.put(UUID.fromString(uuidString), new ArrayList<>(itemsConfig.getStringList(uuidString)));
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().warning("UUID inválido no arquivo purchased-items.yml: " + uuidString);
+            }
+        }
+
+        flushTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                flush();
+            }
+        }.runTaskTimer(plugin, FLUSH_INTERVAL_TICKS, FLUSH_INTERVAL_TICKS);
+    }
+
+    /**
+     * Carrega o stats.yml mais as alterações registradas no diário desde então
+     */
+    private void openStats() throws IOException {
+        YamlConfiguration statsConfig = YamlConfiguration.loadConfiguration(statsFile);
+        ConfigurationSection players = statsConfig.getConfigurationSection("players");
+        if (players != null) {
+            for (String uuidString : players.getKeys(false)) {
+                try {
+                    int[] values = statsOf(UUID.fromString(uuidString));
+                    values[KILLS] = players.getInt(uuidString + ".kills", 0);
+                    values[DEATHS] = players.getInt(uuidString + ".deaths", 0);
+                    values[WINS] = players.getInt(uuidString + ".wins", 0);
+                    values[GAMES_PLAYED] = players.getInt(uuidString + ".gamesPlayed", 0);
+                } catch (IllegalArgumentException e) {
+                    plugin.getLogger().warning("UUID inválido no arquivo stats.yml: " + uuidString);
+                }
+            }
+        }
+
+        readSettled(statsConfig, settledStats);
+
+        journal = new StatsJournal(new File(plugin.getDataFolder(), "stats.journal"), plugin.getLogger());
+        journal.open(statsConfig.getLong("journal-generation", 0), settledStats, (uuid, stat, delta) -> {
+            if (stat >= 0 && stat <= GAMES_PLAYED) {
+                statsOf(uuid)[stat] += delta;
+            }
+        });
+    }
+
+    private void readSettled(FileConfiguration config, Set<UUID> settled) {
+        for (String id : config.getStringList(SETTLED_KEY)) {
+            try {
+                settled.add(UUID.fromString(id));
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().warning("Id de liquidação inválido: " + id);
+            }
+        }
+    }
+
+    private static Set<UUID> recentSet() {
+        return Collections.newSetFromMap(new LinkedHashMap<UUID, Boolean>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Boolean> eldest) {
+                return size() > REMEMBERED_SETTLEMENTS;
+            }
+        });
+    }
+
+    private static List<String> toStrings(Set<UUID> ids) {
+        List<String> list = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            list.add(id.toString());
+        }
+        return list;
+    }
+
+    private int[] statsOf(UUID uuid) {
+        int[] values = stats.get(uuid);
+        if (values == null) {
+            values = new int[GAMES_PLAYED + 1];
+            stats.put(uuid, values);
+        }
+        return values;
+    }
+
+    @Override
+    public synchronized PlayerData load(UUID uuid) {
+        PlayerData data = new PlayerData(uuid);
+
+        int[] values = stats.get(uuid);
+        if (values != null) {
+            for (byte stat = 0; stat < values.length; stat++) {
+                data.addStat(stat, values[stat]);
+            }
+        }
+
+        data.setTokens(tokens.getOrDefault(uuid, 0));
+
+        List<String> list = items.get(uuid);
+        if (list != null) {
+            for (String item : list) {
+                data.addItem(item);
+            }
+        }
+        return data;
+    }
+
+    @Override
+    public void forEachStats(StatsVisitor visitor) {
+        // Copiado com o lock e percorrido sem ele, para que um ranking sendo montado não trave addStat
+        Map<UUID, int[]> copy;
+        synchronized (this) {
+            copy = new HashMap<>(stats.size() * 2);
+            for (Map.Entry<UUID, int[]> entry : stats.entrySet()) {
+                copy.put(entry.getKey(), entry.getValue().clone());
+            }
+        }
+
+        for (Map.Entry<UUID, int[]> entry : copy.entrySet()) {
+            visitor.visit(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Recebe os valores das estatísticas de {@link #loadStats}
+     */
+    public interface StatConsumer {
+        void add(UUID uuid, byte stat, int amount);
+    }
+
+    /**
+     * Percorre todas as estatísticas guardadas (usado para migrar para outro armazenamento)
+     *
+     * @param consumer Recebe os valores
+     */
+    public synchronized void loadStats(StatConsumer consumer) {
+        for (Map.Entry<UUID, int[]> entry : stats.entrySet()) {
+            int[] values = entry.getValue();
+            for (byte stat = 0; stat < values.length; stat++) {
+                if (values[stat] != 0) {
+                    consumer.add(entry.getKey(), stat, values[stat]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Percorre todos os saldos de tokens guardados (usado para migrar para outro armazenamento)
+     *
+     * @param consumer Recebe o jogador e o saldo
+     */
+    public synchronized void loadTokens(BiConsumer<UUID, Integer> consumer) {
+        tokens.forEach(consumer);
+    }
+
+    /**
+     * Percorre todas as listas de itens comprados guardadas (usado para migrar para outro armazenamento)
+     *
+     * @param consumer Recebe o jogador e os ids dos itens
+     */
+    public synchronized void loadItems(BiConsumer<UUID, List<String>> consumer) {
+        for (Map.Entry<UUID, List<String>> entry : items.entrySet()) {
+            consumer.accept(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+    }
+
+    @Override
+    public synchronized void addStat(UUID uuid, byte stat, int delta) {
+        if (journal == null) {
+            return;
+        }
+
+        statsOf(uuid)[stat] += delta;
+        journal.append(uuid, stat, delta);
+
+        if (journal.getPendingRecords() >= COMPACT_THRESHOLD) {
+            compactStats();
+        }
+    }
+
+    @Override
+    public synchronized void setTokens(UUID uuid, int balance) {
+        tokens.put(uuid, balance);
+        dirtyTokens.add(uuid);
+
+        if (dirtyTokens.size() >= TOKEN_BATCH_SIZE) {
+            flushTokens();
+        }
+    }
+
+    @Override
+    public synchronized void addItem(UUID uuid, String itemId) {
+        List<String> list = items.get(uuid);
+        if (list == null) {
+            list = new ArrayList<>();
+            items.put(uuid, list);
+        }
+        if (!list.contains(itemId)) {
+            list.add(itemId);
+            itemsDirty = true;
+        }
+    }
+
+    @Override
+    public synchronized void settle(Settlement settlement) {
+        List<Settlement.Credit> credits = settlement.getCredits();
+
+        // Estatísticas: um grupo no diário, reaplicado inteiro ou nada
+        if (journal != null && settledStats.add(settlement.getId())) {
+            List<UUID> uuids = new ArrayList<>();
+            List<Byte> ids = new ArrayList<>();
+            List<Integer> deltas = new ArrayList<>();
+            for (Settlement.Credit credit : credits) {
+                if (credit.getWins() != 0) {
+                    uuids.add(credit.getUuid());
+                    ids.add(WINS);
+                    deltas.add(credit.getWins());
+                }
+                if (credit.getGamesPlayed() != 0) {
+                    uuids.add(credit.getUuid());
+                    ids.add(GAMES_PLAYED);
+                    deltas.add(credit.getGamesPlayed());
+                }
+            }
+
+            UUID[] recordUuids = uuids.toArray(new UUID[0]);
+            byte[] recordStats = new byte[recordUuids.length];
+            int[] recordDeltas = new int[recordUuids.length];
+            for (int i = 0; i < recordUuids.length; i++) {
+                recordStats[i] = ids.get(i);
+                recordDeltas[i] = deltas.get(i);
+                statsOf(recordUuids[i])[recordStats[i]] += recordDeltas[i];
+            }
+            journal.appendGroup(settlement.getId(), recordUuids, recordStats, recordDeltas);
+
+            if (journal.getPendingRecords() >= COMPACT_THRESHOLD) {
+                compactStats();
+            }
+        }
+
+        // Tokens: o id vai para o tokens.yml na mesma gravação que os novos saldos
+        if (settledTokens.add(settlement.getId())) {
+            for (Settlement.Credit credit : credits) {
+                if (credit.getTokens() != 0) {
+                    tokens.merge(credit.getUuid(), credit.getTokens(), Integer::sum);
+                    dirtyTokens.add(credit.getUuid());
+                }
+            }
+            flushTokens();
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        flushTokens();
+        flushItems();
+    }
+
+    /**
+     * Incorpora o diário a um novo stats.yml em segundo plano.
+     * Os valores são copiados aqui, para o snapshot corresponder exatamente aos registros enfileirados até agora.
+     */
+    private void compactStats() {
+        final Map<UUID, int[]> snapshot = new HashMap<>(stats.size() * 2);
+        for (Map.Entry<UUID, int[]> entry : stats.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().clone());
+        }
+        final List<String> settled = toStrings(settledStats);
+
+        journal.compact(generation -> {
+            YamlConfiguration config = new YamlConfiguration();
+            config.set("journal-generation", generation);
+            config.set(SETTLED_KEY, settled);
+
+            for (Map.Entry<UUID, int[]> entry : snapshot.entrySet()) {
+                String path = "players." + entry.getKey().toString();
+                int[] values = entry.getValue();
+                config.set(path + ".kills", values[KILLS]);
+                config.set(path + ".deaths", values[DEATHS]);
+                config.set(path + ".wins", values[WINS]);
+                config.set(path + ".gamesPlayed", values[GAMES_PLAYED]);
+            }
+
+            saveAtomically(config, statsFile);
+        });
+    }
+
+    /**
+     * Entrega os saldos alterados ao {@link SaveService}; o arquivo é gravado uma vez por lote
+     */
+    private void flushTokens() {
+        if (dirtyTokens.isEmpty() || closed) {
+            return;
+        }
+
+        for (UUID uuid : dirtyTokens) {
+            tokensConfig.set(uuid.toString(), tokens.getOrDefault(uuid, 0));
+        }
+        dirtyTokens.clear();
+        tokensConfig.set(SETTLED_KEY, toStrings(settledTokens));
+
+        plugin.getSaveService().save(tokensFile, tokensConfig);
+    }
+
+    private void flushItems() {
+        if (!itemsDirty || closed) {
+            return;
+        }
+        itemsDirty = false;
+
+        YamlConfiguration config = new YamlConfiguration();
+        for (Map.Entry<UUID, List<String>> entry : items.entrySet()) {
+            config.set(entry.getKey().toString(), new ArrayList<>(entry.getValue()));
+        }
+
+        plugin.getSaveService().save(itemsFile, config);
+    }
+
+    /**
+     * Grava um arquivo através de uma cópia temporária sincronizada, para que uma queda nunca o deixe pela metade
+     */
+    private static void saveAtomically(FileConfiguration config, File file) throws IOException {
+        SaveService.writeAtomically(file, config.saveToString());
+    }
+
+    @Override
+    public synchronized void close() {
+        if (flushTask != null) {
+            flushTask.cancel();
+        }
+
+        if (journal != null) {
+            compactStats();
+            journal.close();
+        }
+
+        // O SaveService termina de gravar os arquivos ao ser fechado, depois do armazenamento
+        flush();
+        closed = true;
+    }
+}
@@ -0,0 +1,202 @@
+package com.br.gravitationalbattle.utils;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import com.br.gravitationalbattle.GravitationalBattle;
+import com.br.gravitationalbattle.game.Game;
+
+/**
+ * Placeholder values for a player and/or a game, shared by the tab list and the scoreboards.
+ * Values are only looked up for the placeholders a template actually uses, and the
+ * player's game is resolved at most once per {@link #reset}.
+ */
+public class Placeholders implements Template.Resolver {
+
+    private final GravitationalBattle plugin;
+    private Player player;
+    private Game game;
+    private boolean gameResolved;
+
+    public Placeholders(GravitationalBattle plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Prepares to render for a player; their game is looked up on first use
+     *
+     * @param player The player
+     * @return This resolver
+     */
+    public Placeholders reset(Player player) {
+        this.player = player;
+        this.game = null;
+        this.gameResolved = false;
+        return this;
+    }
+
+    /**
+     * Prepares to render for a known game, optionally without a player
+     *
+     * @param player The player, or null for lines shared by the whole game
+     * @param game The game
+     * @return This resolver
+     */
+    public Placeholders reset(Player player, Game game) {
+        this.player = player;
+        this.game = game;
+        this.gameResolved = true;
+        return this;
+    }
+
+    private Game getGame() {
+        if (!gameResolved) {
+            game = player != null ? plugin.getGameManager().getPlayerGame(player) : null;
+            gameResolved = true;
+        }
+        return game;
+    }
+
+    @Override
+    public boolean resolve(String key, StringBuilder out) {
+        switch (key) {
+            // Servidor
+            case "online":
+                out.append(Bukkit.getOnlinePlayers().size());
+                return true;
+            case "max":
+                out.append(Bukkit.getMaxPlayers());
+                return true;
+            case "in_games":
+                out.append(plugin.getGameManager().getTotalPlayersInGames());
+                return true;
+
+            // Jogo
+            case "game":
+            case "players":
+            case "kills":
+            case "remaining":
+            case "time":
+            case "state":
+            case "mode":
+            case "countdown":
+            case "min_players":
+                return resolveGame(key, out);
+
+            default:
+                return player != null && resolvePlayer(key, out);
+        }
+    }
+
+    private boolean resolveGame(String key, StringBuilder out) {
+        Game game = getGame();
+
+        if (game == null) {
+            switch (key) {
+                case "game":
+                case "state":
+                case "mode":
+                    out.append("Nenhum");
+                    return true;
+                case "players":
+                    out.append("0/0");
+                    return true;
+                case "time":
+                    out.append("00:00");
+                    return true;
+                default:
+                    out.append('0');
+                    return true;
+            }
+        }
+
+        switch (key) {
+            case "game":
+                out.append(game.getArena().getDisplayName());
+                return true;
+            case "players":
+                out.append(game.getPlayerCount()).append('/').append(game.getArena().getMaxPlayers());
+                return true;
+            case "kills":
+                out.append(player != null ? game.getPlayerKills(player) : 0);
+                return true;
+            case "remaining":
+                out.append(game.getAliveCount());
+                return true;
+            case "time":
+                appendTime(game.getGameTime(), out);
+                return true;
+            case "state":
+                out.append(translateGameState(game.getState().toString()));
+                return true;
+            case "mode":
+                out.append(game.getGameMode().getDisplayName());
+                return true;
+            case "countdown":
+                out.append(game.getCountdown());
+                return true;
+            case "min_players":
+                out.append(game.getArena().getMinPlayers());
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private boolean resolvePlayer(String key, StringBuilder out) {
+        switch (key) {
+            case "player":
+                out.append(player.getName());
+                return true;
+            case "total_kills":
+                out.append(plugin.getStatsManager().getPlayerKills(player));
+                return true;
+            case "total_deaths":
+                out.append(plugin.getStatsManager().getPlayerDeaths(player));
+                return true;
+            case "total_wins":
+                out.append(plugin.getStatsManager().getPlayerWins(player));
+                return true;
+            case "level":
+                out.append(plugin.getLevelManager().getPlayerLevel(player));
+                return true;
+            case "prestige":
+                out.append(plugin.getLevelManager().getPlayerPrestige(player));
+                return true;
+            case "tokens":
+                out.append(plugin.getRewardManager().getPlayerTokens(player));
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Appends a time in seconds as MM:SS
+     */
+    private static void appendTime(int seconds, StringBuilder out) {
+        int minutes = seconds / 60;
+        int remainingSeconds = seconds % 60;
+        if (minutes < 10) out.append('0');
+        out.append(minutes).append(':');
+        if (remainingSeconds < 10) out.append('0');
+        out.append(remainingSeconds);
+    }
+
+    /**
+     * Traduz estado do jogo para português
+     *
+     * @param state Estado em inglês
+     * @return Estado traduzido
+     */
+    private static String translateGameState(String state) {
+        switch (state) {
+            case "WAITING": return "Aguardando";
+            case "STARTING": return "Iniciando";
+            case "COUNTDOWN": return "Contagem";
+            case "INGAME": return "Em Jogo";
+            case "ENDING": return "Finalizando";
+            default: return state;
+        }
+    }
+}
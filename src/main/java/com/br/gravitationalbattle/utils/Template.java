@@ -0,0 +1,146 @@
+package com.br.gravitationalbattle.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A text template compiled once into colorized literal segments and placeholder keys.
+ * Both {@code {key}} and {@code %key%} placeholders are recognized; rendering appends
+ * the segments in order, so no string is scanned or recolored per render.
+ */
+public class Template {
+
+    /**
+     * Supplies values for placeholders while a template is rendered
+     */
+    public interface Resolver {
+
+        /**
+         * Appends the value of a placeholder
+         *
+         * @param key The placeholder name, without delimiters
+         * @param out Where to append the value
+         * @return true if the placeholder is known, false to keep it as written
+         */
+        boolean resolve(String key, StringBuilder out);
+    }
+
+    // literals.length == keys.length + 1: literal, key, literal, key, ..., literal
+    private final String[] literals;
+    private final String[] keys;
+    private final char[] delimiters;
+    private final int literalLength;
+
+    private Template(String[] literals, String[] keys, char[] delimiters) {
+        this.literals = literals;
+        this.keys = keys;
+        this.delimiters = delimiters;
+
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Compiles a template, translating '&' color codes in its literal text
+     *
+     * @param text The raw template
+     * @return The compiled template
+     */
+    public static Template compile(String text) {
+        if (text == null) text = "";
+
+        List<String> literals = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        StringBuilder delimiters = new StringBuilder();
+
+        int literalStart = 0;
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            char close = c == '{' ? '}' : c == '%' ? '%' : 0;
+            int end = close != 0 ? findKeyEnd(text, i + 1, close) : -1;
+
+            if (end < 0) {
+                i++;
+                continue;
+            }
+
+            literals.add(MessageUtil.colorize(text.substring(literalStart, i)));
+            keys.add(text.substring(i + 1, end));
+            delimiters.append(c);
+            i = end + 1;
+            literalStart = i;
+        }
+        literals.add(MessageUtil.colorize(text.substring(literalStart)));
+
+        return new Template(literals.toArray(new String[0]), keys.toArray(new String[0]),
+                delimiters.toString().toCharArray());
+    }
+
+    /**
+     * Finds the closing delimiter of a placeholder; keys are made of letters, digits, '_' and '-'
+     *
+     * @return Index of the closing delimiter, or -1 if this is not a placeholder
+     */
+    private static int findKeyEnd(String text, int start, char close) {
+        for (int i = start; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == close) {
+                return i > start ? i : -1;
+            }
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Renders the template into a reusable buffer
+     *
+     * @param buffer Buffer to render into; it is cleared first
+     * @param resolver Placeholder values
+     * @return The rendered text
+     */
+    public String render(StringBuilder buffer, Resolver resolver) {
+        if (keys.length == 0) {
+            return literals[0];
+        }
+
+        buffer.setLength(0);
+        buffer.append(literals[0]);
+        for (int i = 0; i < keys.length; i++) {
+            int mark = buffer.length();
+            if (!resolver.resolve(keys[i], buffer)) {
+                // Unknown placeholder: keep it exactly as written
+                buffer.setLength(mark);
+                char open = delimiters[i];
+                buffer.append(open).append(keys[i]).append(open == '{' ? '}' : '%');
+            }
+            buffer.append(literals[i + 1]);
+        }
+        return buffer.toString();
+    }
+
+    /**
+     * Renders the template with values given as name/value pairs,
+     * e.g. {@code render("player", name, "killer", killerName)}
+     *
+     * @param pairs Alternating placeholder names and values
+     * @return The rendered text
+     */
+    public String render(final String... pairs) {
+        return render(new StringBuilder(literalLength + 16 * keys.length), (key, out) -> {
+            for (int i = 0; i + 1 < pairs.length; i += 2) {
+                if (pairs[i].equals(key)) {
+                    out.append(pairs[i + 1]);
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+}